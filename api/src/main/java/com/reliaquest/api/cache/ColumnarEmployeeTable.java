@@ -0,0 +1,168 @@
+package com.reliaquest.api.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.lang.NonNull;
+
+/**
+ * Struct-of-arrays {@link EmployeeTable}.
+ *
+ * <p>Salaries and ages are kept in {@code int[]} columns with a {@link BitSet} marking missing values, titles are
+ * dictionary-encoded as one {@code int} code per row, and ids, names and emails are packed into {@link PackedStrings}.
+ * Salary aggregations read the primitive column directly; {@link #employee(int)} creates a new {@link Employee} on
+ * every call and is meant to be used only when an employee is returned to a caller.</p>
+ */
+final class ColumnarEmployeeTable implements EmployeeTable {
+
+    private static final int NO_TITLE = -1;
+
+    private final PackedStrings ids;
+    private final PackedStrings names;
+    private final PackedStrings emails;
+    private final int[] salaries;
+    private final BitSet missingSalaries;
+    private final int[] ages;
+    private final BitSet missingAges;
+    private final String[] titles;
+    private final int[] titleCodes;
+
+    private ColumnarEmployeeTable(
+            PackedStrings ids,
+            PackedStrings names,
+            PackedStrings emails,
+            int[] salaries,
+            BitSet missingSalaries,
+            int[] ages,
+            BitSet missingAges,
+            String[] titles,
+            int[] titleCodes) {
+        this.ids = ids;
+        this.names = names;
+        this.emails = emails;
+        this.salaries = salaries;
+        this.missingSalaries = missingSalaries;
+        this.ages = ages;
+        this.missingAges = missingAges;
+        this.titles = titles;
+        this.titleCodes = titleCodes;
+    }
+
+    @Override
+    public int size() {
+        return salaries.length;
+    }
+
+    @Override
+    public String id(int row) {
+        return ids.get(row);
+    }
+
+    @Override
+    public boolean hasId(int row, @NonNull String id) {
+        return ids.matches(row, id.getBytes(UTF_8));
+    }
+
+    @Override
+    public String name(int row) {
+        return names.get(row);
+    }
+
+    @Override
+    public boolean hasSalary(int row) {
+        return !missingSalaries.get(row);
+    }
+
+    @Override
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    @Override
+    public Employee employee(int row) {
+        return Employee.builder()
+                .id(ids.get(row))
+                .name(names.get(row))
+                .salary(missingSalaries.get(row) ? null : salaries[row])
+                .age(missingAges.get(row) ? null : ages[row])
+                .title(titleCodes[row] == NO_TITLE ? null : titles[titleCodes[row]])
+                .email(emails.get(row))
+                .build();
+    }
+
+    @Override
+    public Format format() {
+        return Format.COLUMNAR;
+    }
+
+    static final class Builder implements EmployeeTable.Builder {
+
+        private final PackedStrings.Builder ids;
+        private final PackedStrings.Builder names;
+        private final PackedStrings.Builder emails;
+        private int[] salaries;
+        private final BitSet missingSalaries = new BitSet();
+        private int[] ages;
+        private final BitSet missingAges = new BitSet();
+        private final Map<String, Integer> titleCodesByTitle = new HashMap<>();
+        private int[] titleCodes;
+        private int size;
+
+        Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            this.ids = new PackedStrings.Builder(capacity);
+            this.names = new PackedStrings.Builder(capacity);
+            this.emails = new PackedStrings.Builder(capacity);
+            this.salaries = new int[capacity];
+            this.ages = new int[capacity];
+            this.titleCodes = new int[capacity];
+        }
+
+        @Override
+        public Builder add(@NonNull Employee employee) {
+            if (size == salaries.length) {
+                salaries = Arrays.copyOf(salaries, size * 2);
+                ages = Arrays.copyOf(ages, size * 2);
+                titleCodes = Arrays.copyOf(titleCodes, size * 2);
+            }
+            ids.add(employee.getId());
+            names.add(employee.getName());
+            emails.add(employee.getEmail());
+            if (employee.getSalary() == null) {
+                missingSalaries.set(size);
+            } else {
+                salaries[size] = employee.getSalary();
+            }
+            if (employee.getAge() == null) {
+                missingAges.set(size);
+            } else {
+                ages[size] = employee.getAge();
+            }
+            titleCodes[size] = employee.getTitle() == null
+                    ? NO_TITLE
+                    : titleCodesByTitle.computeIfAbsent(employee.getTitle(), title -> titleCodesByTitle.size());
+            size++;
+            return this;
+        }
+
+        @Override
+        public EmployeeTable build() {
+            String[] titles = new String[titleCodesByTitle.size()];
+            titleCodesByTitle.forEach((title, code) -> titles[code] = title);
+            return new ColumnarEmployeeTable(
+                    ids.build(),
+                    names.build(),
+                    emails.build(),
+                    Arrays.copyOf(salaries, size),
+                    missingSalaries,
+                    Arrays.copyOf(ages, size),
+                    missingAges,
+                    titles,
+                    Arrays.copyOf(titleCodes, size));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.common.EmployeeChanges;
+import com.reliaquest.api.common.Response;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.lang.NonNull;
+
+/**
+ * Asks the employee service what changed since a change version, so a refresh costs as much as the writes since the
+ * last one rather than the whole list.
+ */
+@FunctionalInterface
+public interface EmployeeChangeFeed {
+
+    /**
+     * @param since the version of the last full load or of the last changes applied
+     * @return a future for the changes since then, or for an error response if the employee service could not be asked
+     */
+    CompletableFuture<Response<EmployeeChanges>> changesSince(@NonNull String since);
+}
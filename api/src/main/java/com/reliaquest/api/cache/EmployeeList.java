@@ -0,0 +1,76 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+import org.springframework.lang.NonNull;
+
+/**
+ * Read-only list over the live rows of an {@link EmployeeSnapshot}, materializing each row as it is read, followed by
+ * the employees added since its table was built.
+ *
+ * <p>The list also remembers its serialized form: the first call to {@link #serialized(Serializer)} encodes the whole
+ * list and every later call returns the same bytes, so a snapshot version is serialized at most once no matter how
+ * often it is returned. The bytes are shared and must not be modified.</p>
+ */
+public final class EmployeeList extends AbstractList<Employee> implements RandomAccess {
+
+    private final long version;
+    private final EmployeeTable table;
+    private final int[] rows;
+    private final Employee[] added;
+
+    private volatile byte[] serialized;
+
+    EmployeeList(long version, EmployeeTable table, int[] rows, Employee[] added) {
+        this.version = version;
+        this.table = table;
+        this.rows = rows;
+        this.added = added;
+    }
+
+    /**
+     * @return the version of the snapshot this list belongs to
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Employee get(int index) {
+        Objects.checkIndex(index, size());
+        return index < rows.length ? table.employee(rows[index]) : added[index - rows.length];
+    }
+
+    @Override
+    public int size() {
+        return rows.length + added.length;
+    }
+
+    /**
+     * @param serializer encodes the list; only called the first time
+     * @return the serialized list
+     * @throws IOException if {@code serializer} fails, in which case nothing is remembered
+     */
+    public byte[] serialized(@NonNull final Serializer serializer) throws IOException {
+        byte[] bytes = serialized;
+        if (bytes == null) {
+            synchronized (this) {
+                bytes = serialized;
+                if (bytes == null) {
+                    bytes = serializer.serialize(this);
+                    serialized = bytes;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    @FunctionalInterface
+    public interface Serializer {
+
+        byte[] serialize(EmployeeList employees) throws IOException;
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.cache;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A full employee list and the change version of the employee service it reflects.
+ *
+ * @param changeVersion where to ask the {@link EmployeeChangeFeed} for changes from, or null if the employee service
+ *     does not keep a change log
+ */
+public record EmployeeLoad(EmployeeTable table, @Nullable String changeVersion) {}
@@ -0,0 +1,301 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Immutable, versioned view of the full employee list as last loaded from the employee service.
+ *
+ * <p>A snapshot is never modified once published; a refresh or a write produces a new snapshot with a higher version,
+ * so readers holding a reference always see a consistent list. Employees are stored in an {@link EmployeeTable} whose
+ * derived indexes refer to rows by ordinal and are built once, together with the table.</p>
+ *
+ * <p>Writes do not touch the table or its indexes. {@link #withEmployee(long, Employee)} and
+ * {@link #withoutEmployee(long, Employee)} keep a small overlay instead: the ascending table rows removed since the
+ * table was built and the employees added since, in order. Reads consult the indexes and then correct for the
+ * overlay, so a write costs O(overlay) rather than O(n). Once the overlay outgrows {@code max(64, sqrt(n))} entries
+ * the next write folds it into a freshly built table and indexes, which keeps both the write cost and the read
+ * correction around O(sqrt(n)) amortized.</p>
+ */
+@ToString(onlyExplicitlyIncluded = true)
+public final class EmployeeSnapshot {
+
+    static final int MIN_OVERLAY = 64;
+
+    private static final int[] NO_ROWS = new int[0];
+    private static final Employee[] NO_EMPLOYEES = new Employee[0];
+
+    @Getter
+    @ToString.Include
+    private final long version;
+
+    @Getter
+    @ToString.Include
+    private final Instant loadedAt;
+
+    private final EmployeeTable table;
+    private final IdIndex idIndex;
+    private final SalaryIndex salaryIndex;
+    private final NameIndex nameIndex;
+    private final int[] removed;
+    private final Employee[] added;
+
+    private volatile EmployeeList employees;
+
+    private EmployeeSnapshot(
+            long version,
+            Instant loadedAt,
+            EmployeeTable table,
+            IdIndex idIndex,
+            SalaryIndex salaryIndex,
+            NameIndex nameIndex,
+            int[] removed,
+            Employee[] added) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.table = table;
+        this.idIndex = idIndex;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+        this.removed = removed;
+        this.added = added;
+    }
+
+    public static EmployeeSnapshot of(long version, @NonNull Instant loadedAt, @NonNull List<Employee> employees) {
+        return of(
+                version,
+                loadedAt,
+                EmployeeTable.of(
+                        EmployeeTable.Format.OBJECTS,
+                        employees.stream().filter(Objects::nonNull).toList()));
+    }
+
+    public static EmployeeSnapshot of(long version, @NonNull Instant loadedAt, @NonNull EmployeeTable table) {
+        int[] rows = new int[table.size()];
+        Arrays.setAll(rows, row -> row);
+        return new EmployeeSnapshot(
+                version,
+                loadedAt,
+                table,
+                IdIndex.of(table, rows),
+                SalaryIndex.of(table, rows),
+                NameIndex.of(table, rows),
+                NO_ROWS,
+                NO_EMPLOYEES);
+    }
+
+    /**
+     * @param newVersion the version of the returned snapshot
+     * @return this snapshot's data and indexes under another version
+     */
+    public EmployeeSnapshot withVersion(long newVersion) {
+        return new EmployeeSnapshot(newVersion, loadedAt, table, idIndex, salaryIndex, nameIndex, removed, added);
+    }
+
+    /**
+     * @param newVersion the version of the returned snapshot
+     * @param employee the created employee
+     * @return a snapshot that also contains {@code employee}, or this snapshot if its id is already present
+     */
+    public EmployeeSnapshot withEmployee(long newVersion, @NonNull Employee employee) {
+        if (employee.getId() == null || findById(employee.getId()).isPresent()) {
+            return this;
+        }
+        Employee[] updatedAdded = Arrays.copyOf(added, added.length + 1);
+        updatedAdded[added.length] = employee;
+        return next(newVersion, removed, updatedAdded);
+    }
+
+    /**
+     * @param newVersion the version of the returned snapshot
+     * @param employee the deleted employee, matched by id
+     * @return a snapshot without {@code employee}, or this snapshot if its id is not present
+     */
+    public EmployeeSnapshot withoutEmployee(long newVersion, @NonNull Employee employee) {
+        String id = employee.getId();
+        if (id == null) {
+            return this;
+        }
+        int row = idIndex.find(id);
+        int position = row < 0 ? 0 : Arrays.binarySearch(removed, row);
+        if (position < 0) {
+            position = -position - 1;
+            int[] updatedRemoved = new int[removed.length + 1];
+            System.arraycopy(removed, 0, updatedRemoved, 0, position);
+            updatedRemoved[position] = row;
+            System.arraycopy(removed, position, updatedRemoved, position + 1, removed.length - position);
+            return next(newVersion, updatedRemoved, added);
+        }
+        for (int i = 0; i < added.length; i++) {
+            if (id.equals(added[i].getId())) {
+                Employee[] updatedAdded = new Employee[added.length - 1];
+                System.arraycopy(added, 0, updatedAdded, 0, i);
+                System.arraycopy(added, i + 1, updatedAdded, i, added.length - i - 1);
+                return next(newVersion, removed, updatedAdded);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param id the employee id
+     * @return the employee with that id in this snapshot, looked up in O(1) plus a scan of the added employees
+     */
+    public Optional<Employee> findById(@NonNull String id) {
+        int row = idIndex.find(id);
+        if (row >= 0 && !isRemoved(row)) {
+            return Optional.of(table.employee(row));
+        }
+        for (Employee employee : added) {
+            if (id.equals(employee.getId())) {
+                return Optional.of(employee);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return every employee, table rows first and added employees after them; built on first use and then shared
+     */
+    public EmployeeList getEmployees() {
+        EmployeeList list = employees;
+        if (list == null) {
+            synchronized (this) {
+                list = employees;
+                if (list == null) {
+                    list = new EmployeeList(version, table, liveRows(), added);
+                    employees = list;
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @param fragment the case-sensitive fragment to look for
+     * @return the employees whose name contains {@code fragment}, in list order
+     */
+    public List<Employee> searchByName(@NonNull String fragment) {
+        List<Employee> matches = new ArrayList<>();
+        for (int row : nameIndex.searchRows(fragment)) {
+            if (!isRemoved(row)) {
+                matches.add(table.employee(row));
+            }
+        }
+        for (Employee employee : added) {
+            if (employee.getName() != null && employee.getName().contains(fragment)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return the highest salary, or empty if no employee has a salary
+     */
+    public OptionalInt highestSalary() {
+        int rank = nextRank(0);
+        OptionalInt highest =
+                rank < salaryIndex.size() ? OptionalInt.of(salaryIndex.salaryAt(rank)) : OptionalInt.empty();
+        for (Employee employee : added) {
+            if (employee.getSalary() != null && (highest.isEmpty() || employee.getSalary() > highest.getAsInt())) {
+                highest = OptionalInt.of(employee.getSalary());
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * @param k the maximum number of employees to return
+     * @return the {@code k} highest earners, highest first; equal salaries keep list order
+     */
+    public List<Employee> topEarners(int k) {
+        if (removed.length == 0 && added.length == 0) {
+            return salaryIndex.top(k);
+        }
+        List<Employee> paid = new ArrayList<>(added.length);
+        for (Employee employee : added) {
+            if (employee.getSalary() != null) {
+                paid.add(employee);
+            }
+        }
+        paid.sort(Comparator.comparing(Employee::getSalary, Comparator.reverseOrder()));
+
+        List<Employee> top = new ArrayList<>(k);
+        int rank = nextRank(0);
+        int next = 0;
+        while (top.size() < k && (rank < salaryIndex.size() || next < paid.size())) {
+            if (next == paid.size()
+                    || (rank < salaryIndex.size()
+                            && salaryIndex.salaryAt(rank) >= paid.get(next).getSalary())) {
+                top.add(table.employee(salaryIndex.rowAt(rank)));
+                rank = nextRank(rank + 1);
+            } else {
+                top.add(paid.get(next++));
+            }
+        }
+        return Collections.unmodifiableList(top);
+    }
+
+    @ToString.Include
+    public int size() {
+        return table.size() - removed.length + added.length;
+    }
+
+    private EmployeeSnapshot next(long newVersion, int[] updatedRemoved, Employee[] updatedAdded) {
+        if (updatedRemoved.length + updatedAdded.length <= Math.max(MIN_OVERLAY, (int) Math.sqrt(table.size()))) {
+            return new EmployeeSnapshot(
+                    newVersion, loadedAt, table, idIndex, salaryIndex, nameIndex, updatedRemoved, updatedAdded);
+        }
+        int size = table.size() - updatedRemoved.length + updatedAdded.length;
+        EmployeeTable.Builder builder = table.format().builder(size);
+        int skip = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if (skip < updatedRemoved.length && updatedRemoved[skip] == row) {
+                skip++;
+            } else {
+                builder.add(table.employee(row));
+            }
+        }
+        for (Employee employee : updatedAdded) {
+            builder.add(employee);
+        }
+        return of(newVersion, loadedAt, builder.build());
+    }
+
+    private int[] liveRows() {
+        int[] rows = new int[table.size() - removed.length];
+        int skip = 0;
+        int size = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if (skip < removed.length && removed[skip] == row) {
+                skip++;
+            } else {
+                rows[size++] = row;
+            }
+        }
+        return rows;
+    }
+
+    private int nextRank(int rank) {
+        while (rank < salaryIndex.size() && isRemoved(salaryIndex.rowAt(rank))) {
+            rank++;
+        }
+        return rank;
+    }
+
+    private boolean isRemoved(int row) {
+        return removed.length > 0 && Arrays.binarySearch(removed, row) >= 0;
+    }
+}
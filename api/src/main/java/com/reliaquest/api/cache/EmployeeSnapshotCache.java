@@ -0,0 +1,381 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.common.EmployeeChanges;
+import com.reliaquest.api.common.Response;
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.lang.NonNull;
+
+/**
+ * Stale-while-revalidate holder for the {@link EmployeeSnapshot}.
+ *
+ * <p>The first callers wait for the initial load; every caller after that is served the published snapshot without
+ * blocking. Loads and change requests are asynchronous, so a refresh holds no thread while the employee service
+ * answers, and the snapshot is built on the thread that completes the load. The snapshot is reloaded in the background
+ * once {@code refreshInterval} has elapsed, and a failed reload keeps the last good snapshot in place and is retried
+ * after {@code retryInterval}. Failed loads are never cached.</p>
+ *
+ * <p>Successful writes are applied to the published snapshot straight away through {@link #added(Employee)} and
+ * {@link #removed(Employee)}, so readers see their own writes without a reload. Writes are also remembered until a
+ * load that started after them has been published, and replayed onto any load that was already in flight when they
+ * happened, so a slow refresh cannot undo them.</p>
+ *
+ * <p>When the loader reports a change version, a refresh only asks the {@link EmployeeChangeFeed} for the changes since
+ * the last one and applies them to the published snapshot, the same way as local writes. Changes are idempotent, so
+ * the ones a snapshot already holds are skipped. The full list is loaded again only when the feed answers with a
+ * reset, or when the last load reported no change version.</p>
+ */
+@Slf4j
+public class EmployeeSnapshotCache implements AutoCloseable {
+
+    private static final int MAX_PENDING_WRITES = 1024;
+    private static final String REFRESH_THREAD_NAME = "employee-snapshot-refresh";
+
+    private final Supplier<CompletableFuture<Response<EmployeeLoad>>> loader;
+    private final EmployeeChangeFeed changeFeed;
+    private final ScheduledExecutorService scheduler;
+    private final Duration refreshInterval;
+    private final Duration retryInterval;
+    private final Clock clock;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Response<EmployeeSnapshot>>> initialLoad = new AtomicReference<>();
+
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Deque<Write> pendingWrites = new ArrayDeque<>();
+    private long writeSequence;
+    private String changeVersion;
+
+    /**
+     * @param changeFeed asked for the changes since the change version of the published snapshot on each refresh
+     * @param virtualThreads whether background refreshes run on a virtual thread; this needs Java 21 or newer, and
+     *     the cache falls back to a platform thread on older runtimes
+     */
+    public EmployeeSnapshotCache(
+            @NonNull final Supplier<CompletableFuture<Response<EmployeeLoad>>> loader,
+            @NonNull final EmployeeChangeFeed changeFeed,
+            @NonNull final Duration refreshInterval,
+            @NonNull final Duration retryInterval,
+            final boolean virtualThreads) {
+        this(loader, changeFeed, newScheduler(virtualThreads), refreshInterval, retryInterval, Clock.systemUTC());
+    }
+
+    EmployeeSnapshotCache(
+            Supplier<CompletableFuture<Response<EmployeeLoad>>> loader,
+            EmployeeChangeFeed changeFeed,
+            ScheduledExecutorService scheduler,
+            Duration refreshInterval,
+            Duration retryInterval,
+            Clock clock) {
+        this.loader = Objects.requireNonNull(loader, "loader must not be null");
+        this.changeFeed = Objects.requireNonNull(changeFeed, "changeFeed must not be null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler must not be null");
+        this.refreshInterval = Objects.requireNonNull(refreshInterval, "refreshInterval must not be null");
+        this.retryInterval = Objects.requireNonNull(retryInterval, "retryInterval must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    }
+
+    /**
+     * Returns the current snapshot, waiting for the initial load if none has been published yet.
+     *
+     * <p>Callers that arrive while the initial load is in flight wait for that same load instead of starting their
+     * own, and only they block; nothing blocks once a snapshot has been published.</p>
+     *
+     * @return a {@link Response} containing the current snapshot, or an error response if the initial load failed
+     */
+    public Response<EmployeeSnapshot> get() {
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return Response.handledWith(snapshot);
+        }
+        try {
+            return initialLoad().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the current snapshot without ever loading it.
+     *
+     * @return the published snapshot, or empty if nothing has been loaded yet
+     */
+    public Optional<EmployeeSnapshot> peek() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /**
+     * Applies a successful create to the published snapshot and its indexes.
+     *
+     * @param employee the employee returned by the employee service
+     */
+    public void added(@NonNull final Employee employee) {
+        write(new Write(employee, false));
+    }
+
+    /**
+     * Applies a successful delete to the published snapshot and its indexes.
+     *
+     * @param employee the deleted employee, matched by id
+     */
+    public void removed(@NonNull final Employee employee) {
+        write(new Write(employee, true));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Starts a refresh and schedules the next one once it has completed; no thread waits for the employee service in
+     * between.
+     */
+    void refresh() {
+        String since = currentChangeVersion();
+        (since != null ? catchUp(since) : reload())
+                .exceptionally(e -> {
+                    log.warn("Employee snapshot refresh failed, still serving {}", current.get(), e);
+                    return retryInterval;
+                })
+                .thenAccept(this::schedule);
+    }
+
+    private CompletableFuture<Response<EmployeeSnapshot>> initialLoad() {
+        CompletableFuture<Response<EmployeeSnapshot>> loading = new CompletableFuture<>();
+        CompletableFuture<Response<EmployeeSnapshot>> running = initialLoad.compareAndExchange(null, loading);
+        if (running != null) {
+            return running;
+        }
+        EmployeeSnapshot published = current.get();
+        if (published != null) {
+            initialLoad.set(null);
+            loading.complete(Response.handledWith(published));
+            return loading;
+        }
+
+        long writesBeforeLoad = currentWriteSequence();
+        call(loader).whenComplete((result, error) -> {
+            try {
+                if (error != null) {
+                    initialLoad.set(null);
+                    loading.completeExceptionally(error);
+                } else if (result.data() == null) {
+                    initialLoad.set(null);
+                    loading.complete(Response.error(result.error()));
+                } else {
+                    EmployeeSnapshot snapshot = publish(result.data(), writesBeforeLoad);
+                    schedule(refreshInterval);
+                    initialLoad.set(null);
+                    loading.complete(Response.handledWith(snapshot));
+                }
+            } catch (RuntimeException e) {
+                initialLoad.set(null);
+                loading.completeExceptionally(e);
+            }
+        });
+        return loading;
+    }
+
+    private CompletableFuture<Duration> catchUp(String since) {
+        long writesBeforeChanges = currentWriteSequence();
+        return call(() -> changeFeed.changesSince(since)).thenCompose(changes -> {
+            if (changes.data() == null) {
+                log.warn("Employee snapshot catch-up failed, still serving {}: {}", current.get(), changes.error());
+                return CompletableFuture.completedFuture(retryInterval);
+            }
+            if (apply(changes.data(), writesBeforeChanges)) {
+                return CompletableFuture.completedFuture(refreshInterval);
+            }
+            log.info("Employee service cannot serve changes since {}, reloading the employee snapshot", since);
+            return reload();
+        });
+    }
+
+    private CompletableFuture<Duration> reload() {
+        long writesBeforeLoad = currentWriteSequence();
+        return call(loader).thenApply(result -> {
+            if (result.data() == null) {
+                log.warn("Employee snapshot refresh failed, still serving {}: {}", current.get(), result.error());
+                return retryInterval;
+            }
+            publish(result.data(), writesBeforeLoad);
+            return refreshInterval;
+        });
+    }
+
+    private EmployeeSnapshot publish(EmployeeLoad load, long writesBeforeLoad) {
+        EmployeeSnapshot loaded = EmployeeSnapshot.of(0, clock.instant(), load.table());
+        publishLock.lock();
+        try {
+            changeVersion = load.changeVersion();
+            long version = versions.incrementAndGet();
+            EmployeeSnapshot snapshot = loaded.withVersion(version);
+            for (Write write : pendingWrites) {
+                if (write.sequence > writesBeforeLoad) {
+                    snapshot = write.applyTo(snapshot, version);
+                }
+            }
+            pendingWrites.removeIf(write -> write.sequence <= writesBeforeLoad);
+            current.set(snapshot);
+            log.debug("Published employee snapshot {}", snapshot);
+            return snapshot;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the changes to the published snapshot, then replays the writes made since they were asked for, in case
+     * one of those deleted an employee the changes create.
+     *
+     * @return false if the changes cannot be applied and the full list must be loaded instead
+     */
+    private boolean apply(EmployeeChanges changes, long writesBeforeChanges) {
+        if (changes.reset() || changes.version() == null || changes.changes() == null) {
+            return false;
+        }
+        publishLock.lock();
+        try {
+            EmployeeSnapshot snapshot = current.get();
+            long version = versions.get() + 1;
+            EmployeeSnapshot updated = snapshot;
+            for (EmployeeChanges.Change change : changes.changes()) {
+                if (change == null || change.type() == null || change.employee() == null) {
+                    return false;
+                }
+                updated = change.type() == EmployeeChanges.Type.DELETED
+                        ? updated.withoutEmployee(version, change.employee())
+                        : updated.withEmployee(version, change.employee());
+            }
+            for (Write write : pendingWrites) {
+                if (write.sequence > writesBeforeChanges) {
+                    updated = write.applyTo(updated, version);
+                }
+            }
+            pendingWrites.removeIf(write -> write.sequence <= writesBeforeChanges);
+            changeVersion = changes.version();
+            if (updated != snapshot) {
+                versions.incrementAndGet();
+                current.set(updated);
+                log.debug(
+                        "Applied {} changes to employee snapshot {}",
+                        changes.changes().size(),
+                        updated);
+            }
+            return true;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void write(Write write) {
+        publishLock.lock();
+        try {
+            write.sequence = ++writeSequence;
+            pendingWrites.addLast(write);
+            if (pendingWrites.size() > MAX_PENDING_WRITES) {
+                pendingWrites.removeFirst();
+            }
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot != null) {
+                EmployeeSnapshot updated = write.applyTo(snapshot, versions.get() + 1);
+                if (updated != snapshot) {
+                    versions.incrementAndGet();
+                    current.set(updated);
+                    log.debug("Applied {} to employee snapshot {}", write, updated);
+                }
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private long currentWriteSequence() {
+        publishLock.lock();
+        try {
+            return writeSequence;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private String currentChangeVersion() {
+        publishLock.lock();
+        try {
+            return changeVersion;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private static <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void schedule(Duration delay) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::refresh, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @ToString
+    private static final class Write {
+
+        @ToString.Exclude
+        private long sequence;
+
+        private final Employee employee;
+        private final boolean removal;
+
+        private Write(Employee employee, boolean removal) {
+            this.employee = employee;
+            this.removal = removal;
+        }
+
+        private EmployeeSnapshot applyTo(EmployeeSnapshot snapshot, long version) {
+            return removal ? snapshot.withoutEmployee(version, employee) : snapshot.withEmployee(version, employee);
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler(boolean virtualThreads) {
+        if (virtualThreads && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            return Executors.newSingleThreadScheduledExecutor(
+                    new VirtualThreadTaskExecutor(REFRESH_THREAD_NAME + "-").getVirtualThreadFactory());
+        }
+        if (virtualThreads) {
+            log.warn("Virtual threads need Java 21 or newer, refreshing the employee snapshot on a platform thread");
+        }
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, REFRESH_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Collection;
+import java.util.Objects;
+import org.springframework.lang.NonNull;
+
+/**
+ * Row storage behind an {@link EmployeeSnapshot}.
+ *
+ * <p>Rows are addressed by ordinal and never move, so indexes can refer to them with plain {@code int}s. The fields
+ * the indexes need are read per row without creating an {@link Employee}; {@link #employee(int)} is only called when
+ * an employee is returned to a caller. Tables are immutable and built in one pass by a {@link Builder}.</p>
+ */
+public interface EmployeeTable {
+
+    int size();
+
+    String id(int row);
+
+    String name(int row);
+
+    boolean hasSalary(int row);
+
+    /**
+     * @return the salary of the row; only meaningful if {@link #hasSalary(int)}
+     */
+    int salary(int row);
+
+    /**
+     * @return the row as an {@link Employee}
+     */
+    Employee employee(int row);
+
+    /**
+     * @return how this table keeps its rows, for building another table like it
+     */
+    Format format();
+
+    default boolean hasId(int row, @NonNull String id) {
+        return id.equals(id(row));
+    }
+
+    static EmployeeTable of(@NonNull Format format, @NonNull Collection<Employee> employees) {
+        Builder builder = format.builder(employees.size());
+        for (Employee employee : employees) {
+            builder.add(Objects.requireNonNull(employee, "employee must not be null"));
+        }
+        return builder.build();
+    }
+
+    /**
+     * How a table keeps its rows in memory.
+     */
+    enum Format {
+        /**
+         * One {@link Employee} object per row, returned as is.
+         */
+        OBJECTS {
+            @Override
+            public Builder builder(int expectedSize) {
+                return new ObjectEmployeeTable.Builder(expectedSize);
+            }
+        },
+        /**
+         * Struct of arrays: primitive salaries and ages, dictionary-encoded titles and packed ids, names and emails.
+         * {@link Employee} objects only exist while they are being returned.
+         */
+        COLUMNAR {
+            @Override
+            public Builder builder(int expectedSize) {
+                return new ColumnarEmployeeTable.Builder(expectedSize);
+            }
+        };
+
+        public abstract Builder builder(int expectedSize);
+    }
+
+    /**
+     * Accumulates rows in order, for building a table in one pass.
+     */
+    interface Builder {
+
+        Builder add(@NonNull Employee employee);
+
+        EmployeeTable build();
+    }
+}
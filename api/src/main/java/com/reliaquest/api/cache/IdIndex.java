@@ -0,0 +1,86 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+import org.springframework.lang.NonNull;
+
+/**
+ * Open-addressing hash index from employee id to row of an {@link EmployeeTable}.
+ *
+ * <p>Slots hold row ordinals in a plain {@code int[]} with the id hashes alongside, so a lookup boxes nothing and
+ * compares ids through {@link EmployeeTable#hasId(int, String)}. When an id occurs more than once the first row wins.
+ * The index is built once per table and never changes; {@link EmployeeSnapshot} layers its writes on top of it.</p>
+ */
+final class IdIndex {
+
+    private static final int EMPTY = -1;
+
+    private final EmployeeTable table;
+    private final int[] rows;
+    private final int[] hashes;
+    private final int size;
+
+    private IdIndex(EmployeeTable table, int[] rows, int[] hashes, int size) {
+        this.table = table;
+        this.rows = rows;
+        this.hashes = hashes;
+        this.size = size;
+    }
+
+    static IdIndex of(@NonNull final EmployeeTable table, @NonNull final int[] liveRows) {
+        int[] rows = emptySlots(liveRows.length);
+        int[] hashes = new int[rows.length];
+        int size = 0;
+        for (int row : liveRows) {
+            String id = table.id(row);
+            if (id != null && find(table, rows, hashes, id) == EMPTY) {
+                insert(rows, hashes, row, hash(id));
+                size++;
+            }
+        }
+        return new IdIndex(table, rows, hashes, size);
+    }
+
+    /**
+     * @return the row holding {@code id}, or {@code -1} if it is not indexed
+     */
+    int find(@NonNull final String id) {
+        return find(table, rows, hashes, id);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int find(EmployeeTable table, int[] rows, int[] hashes, String id) {
+        int hash = hash(id);
+        int mask = rows.length - 1;
+        for (int slot = hash & mask; rows[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (rows[slot] >= 0 && hashes[slot] == hash && table.hasId(rows[slot], id)) {
+                return rows[slot];
+            }
+        }
+        return EMPTY;
+    }
+
+    private static void insert(int[] rows, int[] hashes, int row, int hash) {
+        int mask = rows.length - 1;
+        int slot = hash & mask;
+        while (rows[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        rows[slot] = row;
+        hashes[slot] = hash;
+    }
+
+    private static int[] emptySlots(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        return slots;
+    }
+
+    private static int hash(String id) {
+        int hash = id.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+
+/**
+ * Trigram inverted index over the employee names of an {@link EmployeeTable} for substring search.
+ *
+ * <p>Every three-character sequence of a name maps to the ascending rows of the names containing it. A search for a
+ * fragment of three or more characters intersects the posting lists of the fragment's trigrams, starting from the
+ * shortest, and only verifies the surviving candidates with {@link String#contains}, so its cost follows the number of
+ * candidates rather than the number of employees. Fragments shorter than a trigram fall back to a scan. Matching is
+ * case-sensitive, results keep row order, and only matching employees are materialized.</p>
+ *
+ * <p>The index is built once per table and never changes; {@link EmployeeSnapshot} filters its results through the
+ * rows it has removed since and scans the few employees it has added.</p>
+ */
+public final class NameIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final EmployeeTable table;
+    private final BitSet live;
+    private final Map<String, int[]> postings;
+
+    private NameIndex(EmployeeTable table, BitSet live, Map<String, int[]> postings) {
+        this.table = table;
+        this.live = live;
+        this.postings = postings;
+    }
+
+    public static NameIndex of(@NonNull final EmployeeTable table, @NonNull final int[] rows) {
+        BitSet live = new BitSet(table.size());
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        for (int row : rows) {
+            live.set(row);
+            for (String gram : grams(table.name(row))) {
+                builders.computeIfAbsent(gram, ignored -> new PostingsBuilder()).add(row);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(Math.max(16, builders.size() * 4 / 3 + 1));
+        builders.forEach((gram, builder) -> postings.put(gram, builder.build()));
+        return new NameIndex(table, live, postings);
+    }
+
+    /**
+     * @param fragment the case-sensitive fragment to look for
+     * @return the employees whose name contains {@code fragment}, in row order
+     */
+    public List<Employee> search(@NonNull final String fragment) {
+        int[] rows = searchRows(fragment);
+        List<Employee> matches = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            matches.add(table.employee(row));
+        }
+        return matches;
+    }
+
+    /**
+     * @param fragment the case-sensitive fragment to look for
+     * @return the ascending rows whose name contains {@code fragment}
+     */
+    int[] searchRows(@NonNull final String fragment) {
+        if (fragment.length() < GRAM_LENGTH) {
+            return scan(fragment);
+        }
+
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : grams(fragment)) {
+            int[] list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+
+        PostingsBuilder matches = new PostingsBuilder();
+        int[] cursors = new int[lists.size()];
+        candidates:
+        for (int row : lists.get(0)) {
+            for (int i = 1; i < lists.size(); i++) {
+                int[] list = lists.get(i);
+                int found = Arrays.binarySearch(list, cursors[i], list.length, row);
+                if (found < 0) {
+                    cursors[i] = -found - 1;
+                    if (cursors[i] == list.length) {
+                        break candidates;
+                    }
+                    continue candidates;
+                }
+                cursors[i] = found;
+            }
+            if (live.get(row) && table.name(row).contains(fragment)) {
+                matches.add(row);
+            }
+        }
+        return matches.build();
+    }
+
+    private int[] scan(String fragment) {
+        PostingsBuilder matches = new PostingsBuilder();
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            String name = table.name(row);
+            if (name != null && name.contains(fragment)) {
+                matches.add(row);
+            }
+        }
+        return matches.build();
+    }
+
+    private static Set<String> grams(String name) {
+        if (name == null || name.length() < GRAM_LENGTH) {
+            return Set.of();
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            grams.add(name.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class PostingsBuilder {
+
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        int[] build() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
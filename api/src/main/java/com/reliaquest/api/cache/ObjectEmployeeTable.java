@@ -0,0 +1,76 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Arrays;
+import org.springframework.lang.NonNull;
+
+/**
+ * {@link EmployeeTable} that keeps the {@link Employee} objects it was built from.
+ */
+final class ObjectEmployeeTable implements EmployeeTable {
+
+    private final Employee[] rows;
+
+    private ObjectEmployeeTable(Employee[] rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public int size() {
+        return rows.length;
+    }
+
+    @Override
+    public String id(int row) {
+        return rows[row].getId();
+    }
+
+    @Override
+    public String name(int row) {
+        return rows[row].getName();
+    }
+
+    @Override
+    public boolean hasSalary(int row) {
+        return rows[row].getSalary() != null;
+    }
+
+    @Override
+    public int salary(int row) {
+        return rows[row].getSalary();
+    }
+
+    @Override
+    public Employee employee(int row) {
+        return rows[row];
+    }
+
+    @Override
+    public Format format() {
+        return Format.OBJECTS;
+    }
+
+    static final class Builder implements EmployeeTable.Builder {
+
+        private Employee[] rows;
+        private int size;
+
+        Builder(int expectedSize) {
+            this.rows = new Employee[Math.max(expectedSize, 16)];
+        }
+
+        @Override
+        public Builder add(@NonNull Employee employee) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = employee;
+            return this;
+        }
+
+        @Override
+        public EmployeeTable build() {
+            return new ObjectEmployeeTable(Arrays.copyOf(rows, size));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A column of strings stored back to back as UTF-8 in one {@code byte[]}, with one offset per row.
+ *
+ * <p>This costs one array for the whole column instead of a {@link String} object and its backing array per row.
+ * Strings are decoded only when a row is read.</p>
+ */
+final class PackedStrings {
+
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final BitSet nulls;
+
+    private PackedStrings(byte[] bytes, int[] offsets, BitSet nulls) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.nulls = nulls;
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        return new String(bytes, offsets[row], offsets[row + 1] - offsets[row], UTF_8);
+    }
+
+    boolean matches(int row, byte[] utf8) {
+        return !nulls.get(row) && Arrays.equals(bytes, offsets[row], offsets[row + 1], utf8, 0, utf8.length);
+    }
+
+    static final class Builder {
+
+        private byte[] bytes;
+        private int[] offsets;
+        private final BitSet nulls = new BitSet();
+        private int size;
+
+        Builder(int expectedSize) {
+            this.bytes = new byte[Math.max(expectedSize, 16) * 16];
+            this.offsets = new int[Math.max(expectedSize, 16) + 1];
+        }
+
+        void add(String value) {
+            byte[] encoded = value == null ? new byte[0] : value.getBytes(UTF_8);
+            int end = offsets[size];
+            if (end + encoded.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, end + encoded.length));
+            }
+            if (size + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            System.arraycopy(encoded, 0, bytes, end, encoded.length);
+            if (value == null) {
+                nulls.set(size);
+            }
+            offsets[++size] = end + encoded.length;
+        }
+
+        PackedStrings build() {
+            return new PackedStrings(Arrays.copyOf(bytes, offsets[size]), Arrays.copyOf(offsets, size + 1), nulls);
+        }
+    }
+}
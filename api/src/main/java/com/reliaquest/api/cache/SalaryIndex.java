@@ -0,0 +1,95 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import org.springframework.lang.NonNull;
+
+/**
+ * Rows of an {@link EmployeeTable} ranked by salary, highest first.
+ *
+ * <p>The ranking is built once per {@link EmployeeSnapshot} as a sorted {@code long[]} whose high half is the
+ * complemented salary and whose low half is the row, so sorting and searching never box and employees with equal
+ * salaries keep their row order. The highest salary is read in O(1) straight from the ranking, and the top {@code k}
+ * earners in O(k) with only those {@code k} employees materialized. Rows without a salary are not ranked. The index is
+ * built once per table and never changes; {@link EmployeeSnapshot} merges its writes in by walking the ranking with
+ * {@link #rowAt(int)}.</p>
+ */
+public final class SalaryIndex {
+
+    private final EmployeeTable table;
+    private final long[] bySalaryDesc;
+
+    private SalaryIndex(EmployeeTable table, long[] bySalaryDesc) {
+        this.table = table;
+        this.bySalaryDesc = bySalaryDesc;
+    }
+
+    public static SalaryIndex of(@NonNull final EmployeeTable table, @NonNull final int[] rows) {
+        long[] ranked = new long[rows.length];
+        int size = 0;
+        for (int row : rows) {
+            if (table.hasSalary(row)) {
+                ranked[size++] = key(table.salary(row), row);
+            }
+        }
+        ranked = Arrays.copyOf(ranked, size);
+        Arrays.sort(ranked);
+        return new SalaryIndex(table, ranked);
+    }
+
+    /**
+     * @return the highest salary, or empty if no employee has a salary
+     */
+    public OptionalInt highestSalary() {
+        return bySalaryDesc.length == 0 ? OptionalInt.empty() : OptionalInt.of(salaryOf(bySalaryDesc[0]));
+    }
+
+    /**
+     * @param k the maximum number of employees to return
+     * @return the {@code k} highest earners, highest first
+     */
+    public List<Employee> top(final int k) {
+        int count = Math.min(k, bySalaryDesc.length);
+        List<Employee> top = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            top.add(table.employee(rowOf(bySalaryDesc[i])));
+        }
+        return Collections.unmodifiableList(top);
+    }
+
+    public int size() {
+        return bySalaryDesc.length;
+    }
+
+    /**
+     * @param rank the position in the ranking, {@code 0} being the highest salary
+     * @return the row at that position
+     */
+    int rowAt(final int rank) {
+        return rowOf(bySalaryDesc[rank]);
+    }
+
+    /**
+     * @param rank the position in the ranking, {@code 0} being the highest salary
+     * @return the salary at that position
+     */
+    int salaryAt(final int rank) {
+        return salaryOf(bySalaryDesc[rank]);
+    }
+
+    private static long key(int salary, int row) {
+        return ((long) ~salary << 32) | row;
+    }
+
+    private static int salaryOf(long key) {
+        return ~(int) (key >> 32);
+    }
+
+    private static int rowOf(long key) {
+        return (int) key;
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AIMD limit on the number of calls in flight to the employee service.
+ *
+ * <p>A call may start only while fewer than {@link #getLimit()} calls are in flight; otherwise it is rejected without
+ * being sent. Every call that completes while the limit was at least half used raises the limit by {@code 1 / limit},
+ * so the limit grows by up to one per round of calls and keeps probing for spare upstream capacity. A call the
+ * upstream drops, by answering 429 Too Many Requests or by timing out, multiplies the limit by {@code backoffRatio}
+ * instead. The limit always stays between {@code minLimit} and {@code maxLimit}.</p>
+ */
+@Slf4j
+public class AdaptiveLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limit;
+    private int inFlight;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AdaptiveLimiter(final int initialLimit, final int minLimit, final int maxLimit, final double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Reserves a slot for one call. Every successful acquire must be followed by exactly one of
+     * {@link #onSuccess()}, {@link #onDropped()} or {@link #onIgnore()}.
+     *
+     * @return whether the call may start
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a call the upstream served, growing the limit if it was at least half used.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            if (inFlight * 2 >= (int) limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a call the upstream dropped, backing the limit off multiplicatively.
+     */
+    public void onDropped() {
+        dropped.increment();
+        lock.lock();
+        try {
+            double previous = limit;
+            limit = Math.max(minLimit, limit * backoffRatio);
+            inFlight--;
+            log.debug("Upstream dropped a call, concurrency limit lowered from {} to {}", (int) previous, (int) limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a call whose outcome says nothing about upstream capacity, such as a cancelled call.
+     */
+    public void onIgnore() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of calls currently allowed in flight
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current limit, calls in flight and counters by name
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            stats.put("concurrencyLimit", (int) limit);
+            stats.put("concurrencyInFlight", inFlight);
+        } finally {
+            lock.unlock();
+        }
+        stats.put("concurrencyRejected", rejected.sum());
+        stats.put("concurrencyDropped", dropped.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import org.springframework.lang.NonNull;
+
+/**
+ * OkHttp {@link EventListener} that counts how calls to the employee service use the connection pool.
+ *
+ * <p>One instance is shared by every call, so all counters are {@link LongAdder}s. A call that acquires a connection
+ * without opening one first reused a pooled connection or, over HTTP/2, multiplexed a new stream onto one.</p>
+ */
+public class ConnectionMetrics extends EventListener {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder multiplexed = new LongAdder();
+    private final LongAdder failedConnects = new LongAdder();
+    private final LongAdder acquired = new LongAdder();
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        calls.increment();
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        failedCalls.increment();
+    }
+
+    @Override
+    public void connectEnd(
+            @NonNull Call call, @NonNull InetSocketAddress inetSocketAddress, @NonNull Proxy proxy, Protocol protocol) {
+        opened.increment();
+        if (protocol == Protocol.H2_PRIOR_KNOWLEDGE || protocol == Protocol.HTTP_2) {
+            multiplexed.increment();
+        }
+    }
+
+    @Override
+    public void connectFailed(
+            @NonNull Call call,
+            @NonNull InetSocketAddress inetSocketAddress,
+            @NonNull Proxy proxy,
+            Protocol protocol,
+            @NonNull IOException ioe) {
+        failedConnects.increment();
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        acquired.increment();
+    }
+
+    /**
+     * @return the current counter values by name
+     */
+    public Map<String, Object> getStats() {
+        long openedCount = opened.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("calls", calls.sum());
+        stats.put("callsFailed", failedCalls.sum());
+        stats.put("connectionsOpened", openedCount);
+        stats.put("connectionsMultiplexed", multiplexed.sum());
+        stats.put("connectionsFailed", failedConnects.sum());
+        stats.put("connectionsReused", Math.max(acquired.sum() - openedCount, 0));
+        return stats;
+    }
+}
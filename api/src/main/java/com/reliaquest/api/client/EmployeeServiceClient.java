@@ -1,41 +1,274 @@
 package com.reliaquest.api.client;
 
 import static com.reliaquest.api.common.Constants.APPLICATION_JSON;
-import static com.reliaquest.api.common.Constants.BASE_URL;
 
-import com.reliaquest.api.config.OkHttpConfig;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import okhttp3.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmployeeServiceClient {
 
+    private static final MediaType JSON = MediaType.get(APPLICATION_JSON);
+
     private final OkHttpClient client;
 
-    public EmployeeServiceClient() {
-        this.client = OkHttpConfig.configureClient();
+    private final ConnectionMetrics connectionMetrics;
+
+    private final AdaptiveLimiter limiter;
+
+    private final RetryScheduler retryScheduler;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final UpstreamBalancer balancer;
+
+    private final String accept;
+
+    @Autowired
+    public EmployeeServiceClient(
+            @NonNull final OkHttpClient client,
+            @NonNull final ConnectionMetrics connectionMetrics,
+            @NonNull final AdaptiveLimiter limiter,
+            @NonNull final RetryScheduler retryScheduler,
+            @NonNull final CircuitBreaker circuitBreaker,
+            @NonNull final UpstreamBalancer balancer,
+            @Value("${employee.service.http.accept:" + APPLICATION_JSON + "}") final String accept) {
+        this.client = Objects.requireNonNull(client, "OkHttpClient must not be null");
+        this.connectionMetrics = Objects.requireNonNull(connectionMetrics, "ConnectionMetrics must not be null");
+        this.limiter = Objects.requireNonNull(limiter, "AdaptiveLimiter must not be null");
+        this.retryScheduler = Objects.requireNonNull(retryScheduler, "RetryScheduler must not be null");
+        this.circuitBreaker = Objects.requireNonNull(circuitBreaker, "CircuitBreaker must not be null");
+        this.balancer = Objects.requireNonNull(balancer, "UpstreamBalancer must not be null");
+        this.accept = Objects.requireNonNull(accept, "accept must not be null");
+    }
+
+    /**
+     * Sends a GET request without blocking the caller.
+     *
+     * @return a future completed with the response on an OkHttp dispatcher thread; the caller must close it.
+     *         Cancelling the future cancels the call.
+     */
+    public CompletableFuture<Response> get(@NonNull final String path) {
+        return get(path, accept);
     }
 
-    public Response get(@NonNull final String path) throws IOException {
-        Request request = new Request.Builder().url(BASE_URL + path).get().build();
-        return client.newCall(request).execute();
+    /**
+     * Sends a GET request asking for a specific representation, without blocking the caller.
+     *
+     * @param accept the {@code Accept} header to send instead of the configured one
+     * @return a future completed with the response on an OkHttp dispatcher thread, as soon as its headers are in;
+     *         the body is read from the caller's stream as it arrives. The caller must close the response.
+     *         Cancelling the future cancels the call.
+     */
+    public CompletableFuture<Response> get(@NonNull final String path, @NonNull final String accept) {
+        return enqueue(baseUrl -> new Request.Builder()
+                .url(baseUrl + path)
+                .header(HttpHeaders.ACCEPT, accept)
+                .get()
+                .build());
     }
 
-    public Response post(@NonNull final String path, @NonNull final String body) throws IOException {
-        Request request = new Request.Builder()
-                .url(BASE_URL + path)
-                .post(RequestBody.create(body, MediaType.parse(APPLICATION_JSON)))
-                .build();
-        return client.newCall(request).execute();
+    /**
+     * Sends a POST request without blocking the caller.
+     *
+     * @return a future completed with the response on an OkHttp dispatcher thread; the caller must close it.
+     *         Cancelling the future cancels the call.
+     */
+    public CompletableFuture<Response> post(@NonNull final String path, @NonNull final byte[] body) {
+        return enqueue(baseUrl -> new Request.Builder()
+                .url(baseUrl + path)
+                .header(HttpHeaders.ACCEPT, accept)
+                .post(RequestBody.create(body, JSON))
+                .build());
+    }
+
+    /**
+     * Sends a DELETE request without blocking the caller.
+     *
+     * @return a future completed with the response on an OkHttp dispatcher thread; the caller must close it.
+     *         Cancelling the future cancels the call.
+     */
+    public CompletableFuture<Response> delete(@NonNull final String path, @NonNull final byte[] body) {
+        return enqueue(baseUrl -> new Request.Builder()
+                .url(baseUrl + path)
+                .header(HttpHeaders.ACCEPT, accept)
+                .delete(RequestBody.create(body, JSON))
+                .build());
+    }
+
+    /**
+     * @return the connection counters recorded by {@link ConnectionMetrics}, plus the current size of the pool and
+     *     the state of the {@link AdaptiveLimiter}, {@link RetryScheduler}, {@link CircuitBreaker} and of each
+     *     upstream instance
+     */
+    public Map<String, Object> getConnectionStats() {
+        Map<String, Object> stats = connectionMetrics.getStats();
+        stats.put("poolConnections", client.connectionPool().connectionCount());
+        stats.put("poolIdleConnections", client.connectionPool().idleConnectionCount());
+        stats.putAll(limiter.getStats());
+        stats.putAll(retryScheduler.getStats());
+        stats.put("circuitBreakerState", circuitBreaker.getState().name());
+        stats.put("circuitBreakerFailureRate", circuitBreaker.getMetrics().getFailureRate());
+        stats.put("upstreams", balancer.getStats());
+        return stats;
+    }
+
+    /**
+     * Sends the call and completes the returned future with its final outcome, retrying it through the
+     * {@link RetryScheduler} while the upstream throttles it with 429 Too Many Requests. A throttled call is rejected
+     * before the upstream handles it, so retrying is safe for every method. Each attempt goes to the instance the
+     * {@link UpstreamBalancer} chooses, so a retry usually lands on an instance that is not throttled. Once the
+     * {@link RetryScheduler}'s deadline has passed the future fails with a {@link java.util.concurrent.TimeoutException}, which cancels the
+     * attempt in flight and any retry still waiting: the caller has stopped waiting by then.
+     *
+     * @param request builds the request against the base URL of the chosen instance
+     */
+    private CompletableFuture<Response> enqueue(Function<String, Request> request) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        AtomicReference<Call> current = new AtomicReference<>();
+        AtomicReference<Future<?>> pendingRetry = new AtomicReference<>();
+        future.orTimeout(retryScheduler.getDeadline().toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    Future<?> retry = pendingRetry.get();
+                    if (retry != null) {
+                        retry.cancel(false);
+                    }
+                    Call call = current.get();
+                    if (error != null && call != null) {
+                        call.cancel();
+                    }
+                });
+        retryScheduler.onCall();
+        send(request, 1, System.nanoTime(), future, current, pendingRetry);
+        return future;
+    }
+
+    /**
+     * Starts one attempt if the {@link CircuitBreaker} permits it and the {@link AdaptiveLimiter} has room for it, and
+     * reports how the upstream answered to both. For the limiter a 429 or a timeout counts as dropped; for the circuit
+     * breaker a 429, a 5xx or any I/O failure counts as failed. Cancellations count for neither. While another
+     * instance is available, a 429 only ejects the instance that sent it: the limiter is not cut, and the retry goes to
+     * the other instance without waiting for its {@code Retry-After}. With a single instance, or when every other one
+     * is ejected as well, the retry waits for the {@code Retry-After} of the instance that sent it.
+     */
+    private void send(
+            Function<String, Request> request,
+            int attempt,
+            long started,
+            CompletableFuture<Response> future,
+            AtomicReference<Call> current,
+            AtomicReference<Future<?>> pendingRetry) {
+        if (future.isDone()) {
+            return;
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            future.completeExceptionally(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            circuitBreaker.releasePermission();
+            future.completeExceptionally(new RejectedExecutionException(
+                    "Employee service concurrency limit of " + limiter.getLimit() + " reached"));
+            return;
+        }
+        UpstreamBalancer.Upstream upstream = balancer.choose();
+        upstream.onStart();
+        long start = System.nanoTime();
+        Call call = client.newCall(request.apply(upstream.baseUrl()));
+        current.set(call);
+        if (future.isCancelled()) {
+            call.cancel();
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                if (call.isCanceled()) {
+                    upstream.onCancel();
+                    limiter.onIgnore();
+                    circuitBreaker.releasePermission();
+                } else {
+                    upstream.onFailure();
+                    if (e instanceof InterruptedIOException) {
+                        limiter.onDropped();
+                    } else {
+                        limiter.onIgnore();
+                    }
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                }
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                long duration = System.nanoTime() - start;
+                if (response.code() == HttpStatus.TOO_MANY_REQUESTS.value() || response.code() >= 500) {
+                    circuitBreaker.onError(
+                            duration,
+                            TimeUnit.NANOSECONDS,
+                            new IOException("Employee service answered " + response.code() + " " + response.message()));
+                } else {
+                    circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                }
+                if (response.code() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    String retryAfter = response.header(HttpHeaders.RETRY_AFTER);
+                    upstream.onThrottled(retryScheduler.parseRetryAfter(retryAfter));
+                    boolean failover = balancer.availableExcept(upstream) > 0;
+                    if (failover) {
+                        limiter.onIgnore();
+                    } else {
+                        limiter.onDropped();
+                    }
+                    Optional<Duration> delay = retryScheduler.retryDelay(
+                            attempt, failover ? null : retryAfter, Duration.ofNanos(System.nanoTime() - started));
+                    if (delay.isPresent()) {
+                        response.close();
+                        pendingRetry.set(retryScheduler.schedule(
+                                () -> send(request, attempt + 1, started, future, current, pendingRetry), delay.get()));
+                        if (future.isDone()) {
+                            pendingRetry.get().cancel(false);
+                        }
+                        return;
+                    }
+                } else {
+                    if (response.code() >= 500) {
+                        upstream.onFailure();
+                    } else {
+                        upstream.onSuccess(duration);
+                    }
+                    limiter.onSuccess();
+                }
+                if (!future.complete(response)) {
+                    response.close();
+                }
+            }
+        });
     }
 
-    public Response delete(@NonNull final String path, @NonNull final String body) throws IOException {
-        Request request = new Request.Builder()
-                .url(BASE_URL + path)
-                .delete(RequestBody.create(body, MediaType.parse(APPLICATION_JSON)))
-                .build();
-        return client.newCall(request).execute();
+    /**
+     * @return whether the {@link CircuitBreaker} is holding calls back, in which case data already held from the
+     *     employee service may be out of date
+     */
+    public boolean isUpstreamDegraded() {
+        return circuitBreaker.getState() != CircuitBreaker.State.CLOSED
+                && circuitBreaker.getState() != CircuitBreaker.State.DISABLED;
     }
 }
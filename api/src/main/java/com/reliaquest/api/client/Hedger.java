@@ -0,0 +1,249 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Response;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+
+/**
+ * Sends a second, hedged copy of an idempotent call when the first has not answered within the usual latency.
+ *
+ * <p>The hedge delay is the configured percentile of the latencies of recent successful calls, and never less than
+ * {@code minDelay}; until enough calls have been seen, {@code initialDelay} is used. A hedge is an extra call to the
+ * employee service just like a retry, so it is only sent if it can take a token from the {@link RetryBudget} that
+ * retries draw on: hedges and retries together add at most the budget's ratio of extra load. The first usable response
+ * wins, that is any response other than a 429 or a 5xx, and every other attempt is
+ * cancelled, or closed if it has already answered. When no attempt is usable, the last outcome is returned.</p>
+ */
+@Slf4j
+public class Hedger implements AutoCloseable {
+
+    private static final int SAMPLES = 128;
+    private static final int MIN_SAMPLES = 16;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final RetryBudget budget;
+    private final ScheduledExecutorService scheduler;
+
+    private final ReentrantLock samplesLock = new ReentrantLock();
+    private final long[] latencies = new long[SAMPLES];
+    private long recorded;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+
+    public Hedger(
+            final double percentile,
+            @NonNull final Duration initialDelay,
+            @NonNull final Duration minDelay,
+            @NonNull final RetryBudget budget) {
+        this(percentile, initialDelay, minDelay, budget, newScheduler());
+    }
+
+    Hedger(
+            double percentile,
+            Duration initialDelay,
+            Duration minDelay,
+            RetryBudget budget,
+            ScheduledExecutorService scheduler) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be in (0, 1]");
+        }
+        this.enabled = true;
+        this.percentile = percentile;
+        this.initialDelay = Objects.requireNonNull(initialDelay, "initialDelay must not be null");
+        this.minDelay = Objects.requireNonNull(minDelay, "minDelay must not be null");
+        this.budget = Objects.requireNonNull(budget, "budget must not be null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler must not be null");
+    }
+
+    private Hedger() {
+        this.enabled = false;
+        this.percentile = 1;
+        this.initialDelay = Duration.ZERO;
+        this.minDelay = Duration.ZERO;
+        this.budget = null;
+        this.scheduler = null;
+    }
+
+    /**
+     * @return a hedger that runs every call exactly once
+     */
+    public static Hedger disabled() {
+        return new Hedger();
+    }
+
+    /**
+     * Runs {@code call}, hedging it if it is slow.
+     *
+     * @param call starts one attempt of an idempotent call; it is invoked at most twice
+     * @return a future for the winning response, which the caller must close. Cancelling it cancels every attempt.
+     */
+    public CompletableFuture<Response> call(@NonNull final Supplier<CompletableFuture<Response>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        calls.increment();
+        Race race = new Race(call);
+        race.start(false);
+        ScheduledFuture<?> timer = scheduler.schedule(race::hedge, delay().toMillis(), TimeUnit.MILLISECONDS);
+        race.result.whenComplete((response, error) -> {
+            timer.cancel(false);
+            race.cancelLosers(response);
+        });
+        return race.result;
+    }
+
+    /**
+     * @return how long the next call waits before it is hedged
+     */
+    public Duration delay() {
+        samplesLock.lock();
+        try {
+            if (recorded < MIN_SAMPLES) {
+                return initialDelay;
+            }
+            long[] sorted = Arrays.copyOf(latencies, (int) Math.min(recorded, SAMPLES));
+            Arrays.sort(sorted);
+            int index = Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1);
+            return Duration.ofNanos(Math.max(minDelay.toNanos(), sorted[index]));
+        } finally {
+            samplesLock.unlock();
+        }
+    }
+
+    /**
+     * @return the hedging counters and the current hedge delay by name
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hedgedCalls", calls.sum());
+        stats.put("hedgesSent", hedged.sum());
+        stats.put("hedgesWon", hedgesWon.sum());
+        stats.put("hedgesOverBudget", overBudget.sum());
+        stats.put("hedgeDelayMillis", delay().toMillis());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void record(long latencyNanos) {
+        samplesLock.lock();
+        try {
+            latencies[(int) (recorded++ % SAMPLES)] = latencyNanos;
+        } finally {
+            samplesLock.unlock();
+        }
+    }
+
+    private static boolean usable(Response response) {
+        return response.code() != HttpStatus.TOO_MANY_REQUESTS.value() && response.code() < 500;
+    }
+
+    private final class Race {
+
+        private final Supplier<CompletableFuture<Response>> call;
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        private final List<CompletableFuture<Response>> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private Race(Supplier<CompletableFuture<Response>> call) {
+            this.call = call;
+        }
+
+        private void hedge() {
+            if (result.isDone()) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                overBudget.increment();
+                return;
+            }
+            hedged.increment();
+            log.debug("Hedging a call still pending after {}", delay());
+            start(true);
+            if (result.isDone()) {
+                cancelLosers(result.isCompletedExceptionally() ? null : result.getNow(null));
+            }
+        }
+
+        private void start(boolean hedge) {
+            long start = System.nanoTime();
+            outstanding.incrementAndGet();
+            CompletableFuture<Response> attempt;
+            try {
+                attempt = call.get();
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempts.add(attempt);
+            attempt.whenComplete((response, error) -> finished(response, error, hedge, System.nanoTime() - start));
+        }
+
+        private void finished(Response response, Throwable error, boolean hedge, long latencyNanos) {
+            boolean last = outstanding.decrementAndGet() == 0;
+            if (error == null && usable(response)) {
+                record(latencyNanos);
+                if (result.complete(response)) {
+                    if (hedge) {
+                        hedgesWon.increment();
+                    }
+                } else {
+                    response.close();
+                }
+            } else if (last) {
+                boolean completed = error == null ? result.complete(response) : result.completeExceptionally(error);
+                if (!completed && response != null) {
+                    response.close();
+                }
+            } else if (response != null) {
+                response.close();
+            }
+        }
+
+        private void cancelLosers(Response winner) {
+            for (CompletableFuture<Response> attempt : attempts) {
+                if (!attempt.cancel(true) && winner != null && !attempt.isCompletedExceptionally()) {
+                    Response response = attempt.getNow(null);
+                    if (response != null && response != winner) {
+                        response.close();
+                    }
+                }
+            }
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-service-hedge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries and hedges to a fraction of the calls sent to the employee service.
+ *
+ * <p>Every original call deposits {@code ratio} of a token and every retry or hedge withdraws a whole one, so over
+ * time they add at most {@code ratio} extra load however many calls fail or run slow. The bucket holds at most {@code maxBalance}
+ * tokens and starts full, which lets an idle client retry a short burst. Tokens are kept in thousandths in a single
+ * {@link AtomicLong}, so neither side ever blocks.</p>
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(final double ratio, final int maxBalance) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1");
+        }
+        if (maxBalance < 1) {
+            throw new IllegalArgumentException("maxBalance must be at least 1");
+        }
+        this.deposit = Math.round(ratio * SCALE);
+        this.maxBalance = maxBalance * SCALE;
+        this.balance = new AtomicLong(this.maxBalance);
+    }
+
+    /**
+     * Records an original call.
+     */
+    public void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(maxBalance, current + amount));
+    }
+
+    /**
+     * @return whether a retry may be sent; if so, its token has been taken
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * @return the number of whole retries currently available
+     */
+    public long available() {
+        return balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,188 @@
+package com.reliaquest.api.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+/**
+ * Decides whether and when a throttled call to the employee service is sent again, and sends it then.
+ *
+ * <p>Attempt {@code n} waits a random delay between zero and {@code baseDelay * 2^(n-1)}, capped at
+ * {@code maxDelay} ("full jitter"), so clients throttled together do not retry together. When the upstream says how
+ * long to wait in a {@code Retry-After} header, the wait is that long plus the jittered backoff. A call is not retried
+ * when it has used {@code maxAttempts}, when the wait would exceed {@code maxDelay}, when the retry would start after
+ * the call's {@code deadline}, or when the {@link RetryBudget} is empty; the throttled response is then returned as
+ * is. The deadline is the time the caller waits for an answer, so no retry is left pending after the caller has
+ * given up, and a {@code Retry-After} longer than that fails fast instead of holding the request.</p>
+ */
+@Slf4j
+public class RetryScheduler implements AutoCloseable {
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration deadline;
+    private final RetryBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final Clock clock;
+    private final DoubleSupplier jitter;
+
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder overBudget = new LongAdder();
+    private final LongAdder tooLong = new LongAdder();
+
+    public RetryScheduler(
+            final int maxAttempts,
+            @NonNull final Duration baseDelay,
+            @NonNull final Duration maxDelay,
+            @NonNull final Duration deadline,
+            @NonNull final RetryBudget budget) {
+        this(
+                maxAttempts,
+                baseDelay,
+                maxDelay,
+                deadline,
+                budget,
+                newScheduler(),
+                Clock.systemUTC(),
+                () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryScheduler(
+            int maxAttempts,
+            Duration baseDelay,
+            Duration maxDelay,
+            Duration deadline,
+            RetryBudget budget,
+            ScheduledExecutorService scheduler,
+            Clock clock,
+            DoubleSupplier jitter) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = Objects.requireNonNull(baseDelay, "baseDelay must not be null");
+        this.maxDelay = Objects.requireNonNull(maxDelay, "maxDelay must not be null");
+        this.deadline = Objects.requireNonNull(deadline, "deadline must not be null");
+        this.budget = Objects.requireNonNull(budget, "budget must not be null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler must not be null");
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.jitter = Objects.requireNonNull(jitter, "jitter must not be null");
+    }
+
+    /**
+     * Records an original call, which earns the {@link RetryBudget} part of a retry.
+     */
+    public void onCall() {
+        budget.deposit();
+    }
+
+    /**
+     * @return how long a call may take, retries included, before its caller stops waiting for it
+     */
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @param attempt the attempt that was throttled, starting at 1
+     * @param retryAfter the {@code Retry-After} header of the throttled response, in seconds or as an HTTP date
+     * @param elapsed how long ago the call was first sent
+     * @return how long to wait before the next attempt, or empty if the call must not be retried
+     */
+    public Optional<Duration> retryDelay(final int attempt, final String retryAfter, @NonNull final Duration elapsed) {
+        if (attempt >= maxAttempts) {
+            exhausted.increment();
+            return Optional.empty();
+        }
+        long ceiling = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 30));
+        Duration delay = Duration.ofMillis((long) (jitter.getAsDouble() * ceiling));
+        Duration requested = parseRetryAfter(retryAfter);
+        if (requested != null) {
+            delay = delay.plus(requested);
+        }
+        if (delay.compareTo(maxDelay) > 0 || elapsed.plus(delay).compareTo(deadline) >= 0) {
+            tooLong.increment();
+            return Optional.empty();
+        }
+        if (!budget.tryWithdraw()) {
+            overBudget.increment();
+            return Optional.empty();
+        }
+        retried.increment();
+        return Optional.of(delay);
+    }
+
+    /**
+     * Runs {@code retry} after {@code delay} on the retry thread; {@code retry} must not block.
+     *
+     * @return the pending retry; cancelling it keeps the retry from running
+     */
+    public Future<?> schedule(@NonNull final Runnable retry, @NonNull final Duration delay) {
+        return scheduler.schedule(retry, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the retry counters and the remaining budget by name
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("retries", retried.sum());
+        stats.put("retriesExhausted", exhausted.sum());
+        stats.put("retriesOverBudget", overBudget.sum());
+        stats.put("retriesTooLong", tooLong.sum());
+        stats.put("retryBudgetAvailable", budget.available());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @return how long a {@code Retry-After} header, in seconds or as an HTTP date, asks to wait; null if it is absent
+     *     or cannot be parsed
+     */
+    Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration remaining = Duration.between(clock.instant(), date.toInstant());
+                return remaining.isNegative() ? Duration.ZERO : remaining;
+            } catch (DateTimeParseException notDate) {
+                log.debug("Ignoring unparseable Retry-After: {}", retryAfter);
+                return null;
+            }
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-service-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
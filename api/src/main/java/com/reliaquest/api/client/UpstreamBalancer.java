@@ -0,0 +1,227 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+
+/**
+ * Spreads calls over the instances of the employee service, each of which throttles on its own.
+ *
+ * <p>Each call goes to the better of two instances picked at random ("power of two choices"), where better means a
+ * lower {@code (outstanding calls + 1) * EWMA latency}. An instance that answers 429 is ejected until its
+ * {@code Retry-After} has passed, or for {@code baseEjection} without one. An instance that fails {@code maxFailures}
+ * times in a row, with a 5xx or an I/O error, is ejected for {@code baseEjection}, doubled for each further ejection
+ * before it next succeeds. Ejections never exceed {@code maxEjection}. While every instance is ejected, calls go to
+ * the one that comes back first, so a single instance behaves as if there were no balancer.</p>
+ */
+@Slf4j
+public class UpstreamBalancer {
+
+    private static final double EWMA_WEIGHT = 0.3;
+
+    private final List<Upstream> upstreams;
+    private final int maxFailures;
+    private final Duration baseEjection;
+    private final Duration maxEjection;
+    private final LongSupplier nanoTime;
+    private final IntUnaryOperator random;
+
+    public UpstreamBalancer(
+            @NonNull final List<String> baseUrls,
+            final int maxFailures,
+            @NonNull final Duration baseEjection,
+            @NonNull final Duration maxEjection) {
+        this(baseUrls, maxFailures, baseEjection, maxEjection, System::nanoTime, bound -> ThreadLocalRandom.current()
+                .nextInt(bound));
+    }
+
+    UpstreamBalancer(
+            List<String> baseUrls,
+            int maxFailures,
+            Duration baseEjection,
+            Duration maxEjection,
+            LongSupplier nanoTime,
+            IntUnaryOperator random) {
+        Objects.requireNonNull(baseUrls, "baseUrls must not be null");
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("baseUrls must not be empty");
+        }
+        if (maxFailures < 1) {
+            throw new IllegalArgumentException("maxFailures must be at least 1");
+        }
+        this.upstreams = baseUrls.stream().map(Upstream::new).toList();
+        this.maxFailures = maxFailures;
+        this.baseEjection = Objects.requireNonNull(baseEjection, "baseEjection must not be null");
+        this.maxEjection = Objects.requireNonNull(maxEjection, "maxEjection must not be null");
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime must not be null");
+        this.random = Objects.requireNonNull(random, "random must not be null");
+    }
+
+    /**
+     * @return the instance the next call should go to; the caller must report how the call ended to it
+     */
+    public Upstream choose() {
+        long now = nanoTime.getAsLong();
+        List<Upstream> candidates = new ArrayList<>(upstreams.size());
+        for (Upstream upstream : upstreams) {
+            if (upstream.isAvailable(now)) {
+                candidates.add(upstream);
+            }
+        }
+        if (candidates.isEmpty()) {
+            Upstream soonest = upstreams.get(0);
+            for (Upstream upstream : upstreams) {
+                if (upstream.ejectedUntil - soonest.ejectedUntil < 0) {
+                    soonest = upstream;
+                }
+            }
+            return soonest;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        int first = random.applyAsInt(candidates.size());
+        int second = random.applyAsInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Upstream a = candidates.get(first);
+        Upstream b = candidates.get(second);
+        return a.score() <= b.score() ? a : b;
+    }
+
+    /**
+     * @return how many instances are not ejected
+     */
+    public int available() {
+        long now = nanoTime.getAsLong();
+        int available = 0;
+        for (Upstream upstream : upstreams) {
+            if (upstream.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * @param excluded the instance to leave out, typically the one that just throttled a call
+     * @return how many other instances are not ejected; always zero when only one instance is configured
+     */
+    public int availableExcept(@NonNull final Upstream excluded) {
+        long now = nanoTime.getAsLong();
+        int available = 0;
+        for (Upstream upstream : upstreams) {
+            if (upstream != excluded && upstream.isAvailable(now)) {
+                available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * @return the state of each instance, in configuration order
+     */
+    public List<Map<String, Object>> getStats() {
+        long now = nanoTime.getAsLong();
+        return upstreams.stream().map(upstream -> upstream.getStats(now)).toList();
+    }
+
+    /**
+     * One instance of the employee service. Every call started on it must end in exactly one of
+     * {@link #onSuccess(long)}, {@link #onThrottled(Duration)}, {@link #onFailure()} or {@link #onCancel()}.
+     */
+    public final class Upstream {
+
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicLong ewmaNanos = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger ejectionStreak = new AtomicInteger();
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder ejections = new LongAdder();
+
+        private Upstream(String baseUrl) {
+            this.baseUrl = Objects.requireNonNull(baseUrl, "baseUrl must not be null");
+        }
+
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        public void onStart() {
+            calls.increment();
+            outstanding.incrementAndGet();
+        }
+
+        public void onSuccess(final long latencyNanos) {
+            outstanding.decrementAndGet();
+            ewmaNanos.updateAndGet(
+                    ewma -> ewma == 0 ? latencyNanos : ewma + (long) (EWMA_WEIGHT * (latencyNanos - ewma)));
+            failures.set(0);
+            ejectionStreak.set(0);
+        }
+
+        /**
+         * @param retryAfter how long the instance asked to be left alone, or null if it did not say
+         */
+        public void onThrottled(final Duration retryAfter) {
+            outstanding.decrementAndGet();
+            eject(retryAfter != null ? retryAfter : baseEjection);
+        }
+
+        public void onFailure() {
+            outstanding.decrementAndGet();
+            if (failures.incrementAndGet() >= maxFailures) {
+                int streak = Math.min(ejectionStreak.getAndIncrement(), 30);
+                eject(baseEjection.multipliedBy(1L << streak));
+            }
+        }
+
+        public void onCancel() {
+            outstanding.decrementAndGet();
+        }
+
+        private void eject(Duration duration) {
+            Duration ejection = duration.compareTo(maxEjection) > 0 ? maxEjection : duration;
+            failures.set(0);
+            ejectedUntil = nanoTime.getAsLong() + ejection.toNanos();
+            ejected = true;
+            ejections.increment();
+            log.warn("Ejecting employee service {} for {}", baseUrl, ejection);
+        }
+
+        private boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        private double score() {
+            return (outstanding.get() + 1) * (double) (ewmaNanos.get() + 1);
+        }
+
+        private Map<String, Object> getStats(long now) {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("baseUrl", baseUrl);
+            stats.put("available", isAvailable(now));
+            stats.put("outstanding", outstanding.get());
+            stats.put("latencyEwmaMillis", Duration.ofNanos(ewmaNanos.get()).toMillis());
+            stats.put("calls", calls.sum());
+            stats.put("ejections", ejections.sum());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.api.codec;
+
+import static com.reliaquest.api.common.Constants.APPLICATION_NDJSON;
+import static com.reliaquest.api.common.Constants.APPLICATION_SMILE;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.common.EmployeeChanges;
+import com.reliaquest.api.common.EmployeeDeleteRequest;
+import com.reliaquest.api.common.EmployeeRequest;
+import com.reliaquest.api.common.Response;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes requests to and decodes responses from the employee service.
+ *
+ * <p>Readers and writers are resolved once from the application's {@link ObjectMapper} and reused for every call, so
+ * no call looks up serializers or builds a tree: a single-employee envelope is bound to {@code Response<Employee>} in
+ * one pass straight off the response stream, the list envelope is streamed by {@link EmployeeListDecoder}, and
+ * requests are written directly to bytes.</p>
+ *
+ * <p>Responses are decoded according to their {@code Content-Type}: Smile ({@value
+ * com.reliaquest.api.common.Constants#APPLICATION_SMILE}) through a copy of the mapper backed by a
+ * {@link SmileFactory}, which shares its configuration and modules, and anything else as JSON. Requests are always
+ * encoded as JSON, which every version of the employee service accepts. A list sent as NDJSON ({@value
+ * com.reliaquest.api.common.Constants#APPLICATION_NDJSON}) is read line by line and checked against the number of
+ * employees announced with it.</p>
+ */
+@Component
+public class EmployeeCodec {
+
+    private static final MediaType SMILE = MediaType.parseMediaType(APPLICATION_SMILE);
+    private static final MediaType NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeResponseReader;
+    private final ObjectWriter employeeRequestWriter;
+    private final ObjectWriter employeeDeleteRequestWriter;
+    private final EmployeeListDecoder employeeListDecoder;
+    private final ObjectReader employeeChangesReader;
+    private final ObjectReader smileEmployeeResponseReader;
+    private final EmployeeListDecoder smileEmployeeListDecoder;
+    private final ObjectReader smileEmployeeChangesReader;
+
+    @Autowired
+    public EmployeeCodec(@NonNull final ObjectMapper objectMapper) {
+        Objects.requireNonNull(objectMapper, "ObjectMapper must not be null");
+        this.objectMapper = objectMapper;
+        this.employeeResponseReader = responseReader(objectMapper, new TypeReference<Response<Employee>>() {});
+        this.employeeRequestWriter = objectMapper.writerFor(EmployeeRequest.class);
+        this.employeeDeleteRequestWriter = objectMapper.writerFor(EmployeeDeleteRequest.class);
+        this.employeeListDecoder = new EmployeeListDecoder(objectMapper);
+        this.employeeChangesReader = responseReader(objectMapper, new TypeReference<Response<EmployeeChanges>>() {});
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.smileEmployeeResponseReader = responseReader(smileMapper, new TypeReference<Response<Employee>>() {});
+        this.smileEmployeeListDecoder = new EmployeeListDecoder(smileMapper);
+        this.smileEmployeeChangesReader =
+                responseReader(smileMapper, new TypeReference<Response<EmployeeChanges>>() {});
+    }
+
+    /**
+     * @param in a single-employee envelope, closed once decoding ends
+     * @param contentType the response's {@code Content-Type}, or null for JSON
+     * @return the decoded envelope
+     * @throws IOException if the stream cannot be read or does not hold a single employee
+     */
+    public Response<Employee> decodeEmployee(@NonNull final InputStream in, @Nullable final String contentType)
+            throws IOException {
+        return (is(SMILE, contentType) ? smileEmployeeResponseReader : employeeResponseReader).readValue(in);
+    }
+
+    /**
+     * @param in a change-log envelope, closed once decoding ends
+     * @param contentType the response's {@code Content-Type}, or null for JSON
+     * @return the decoded envelope; changes of a type this version does not know have a null type
+     * @throws IOException if the stream cannot be read or does not hold a change log
+     */
+    public Response<EmployeeChanges> decodeChanges(@NonNull final InputStream in, @Nullable final String contentType)
+            throws IOException {
+        return (is(SMILE, contentType) ? smileEmployeeChangesReader : employeeChangesReader).readValue(in);
+    }
+
+    /**
+     * @param contentType the response's {@code Content-Type}, or null for JSON
+     * @param count the number of employees announced with an NDJSON list, or null if none was
+     * @see EmployeeListDecoder#decode(InputStream, EmployeeTable.Format)
+     * @see EmployeeListDecoder#decodeLines(InputStream, EmployeeTable.Format, Integer)
+     */
+    public EmployeeTable decodeEmployees(
+            @NonNull final InputStream in,
+            @NonNull final EmployeeTable.Format format,
+            @Nullable final String contentType,
+            @Nullable final Integer count)
+            throws IOException {
+        if (is(NDJSON, contentType)) {
+            return employeeListDecoder.decodeLines(in, format, count);
+        }
+        return (is(SMILE, contentType) ? smileEmployeeListDecoder : employeeListDecoder).decode(in, format);
+    }
+
+    /**
+     * @param employeeInput a request body as bound by the controller
+     * @return {@code employeeInput} itself if it already is an {@link EmployeeRequest}, otherwise a converted copy
+     */
+    public EmployeeRequest toEmployeeRequest(@NonNull final Object employeeInput) {
+        if (employeeInput instanceof EmployeeRequest employeeRequest) {
+            return employeeRequest;
+        }
+        return objectMapper.convertValue(employeeInput, EmployeeRequest.class);
+    }
+
+    public byte[] encode(@NonNull final EmployeeRequest employeeRequest) throws IOException {
+        return employeeRequestWriter.writeValueAsBytes(employeeRequest);
+    }
+
+    public byte[] encode(@NonNull final EmployeeDeleteRequest employeeDeleteRequest) throws IOException {
+        return employeeDeleteRequestWriter.writeValueAsBytes(employeeDeleteRequest);
+    }
+
+    private static ObjectReader responseReader(ObjectMapper objectMapper, TypeReference<?> type) {
+        return objectMapper
+                .readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+    }
+
+    private static boolean is(MediaType mediaType, String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            return mediaType.isCompatibleWith(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
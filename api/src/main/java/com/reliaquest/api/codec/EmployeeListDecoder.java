@@ -0,0 +1,113 @@
+package com.reliaquest.api.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Streaming decoder for the employee service's list envelope, {@code {"data": [...], "status": ..., "error": ...}}.
+ *
+ * <p>The envelope is walked token by token straight off the response stream. Each element of {@code data} is bound on
+ * its own and appended to an {@link EmployeeTable.Builder}, so the raw payload is never held in memory as a whole and
+ * at most one decoded {@link Employee} exists at a time besides the table being built. Null elements are skipped, as
+ * is every other field of the envelope; a missing or null {@code data} decodes to an empty table.</p>
+ *
+ * <p>{@link #decodeLines(InputStream, EmployeeTable.Format, Integer)} reads the same employees from NDJSON, one per
+ * line and without an envelope, appending each as soon as its line has arrived. Without an envelope, a body cut off
+ * at a line boundary still parses, so the number of employees is checked against the count the service announced.
+ * </p>
+ */
+public class EmployeeListDecoder {
+
+    private static final String DATA_FIELD = "data";
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ObjectReader employeeReader;
+
+    public EmployeeListDecoder(@NonNull final ObjectMapper objectMapper) {
+        Objects.requireNonNull(objectMapper, "ObjectMapper must not be null");
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * @param in the response body, closed once decoding ends
+     * @param format the format of the returned table
+     * @return the decoded employees
+     * @throws IOException if the stream cannot be read or is not a list envelope
+     */
+    public EmployeeTable decode(@NonNull final InputStream in, @NonNull final EmployeeTable.Format format)
+            throws IOException {
+        EmployeeTable.Builder builder = format.builder(INITIAL_CAPACITY);
+        try (JsonParser parser = employeeReader.createParser(in)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (DATA_FIELD.equals(field) && value != JsonToken.VALUE_NULL) {
+                    expect(parser, value, JsonToken.START_ARRAY);
+                    readEmployees(parser, builder);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param in the response body as NDJSON, closed once decoding ends
+     * @param format the format of the returned table
+     * @param count the number of employees the service announced, or null if it did not
+     * @return the decoded employees
+     * @throws IOException if the stream cannot be read, holds something other than employees, ends midway or holds
+     *     another number of employees than announced
+     */
+    public EmployeeTable decodeLines(
+            @NonNull final InputStream in, @NonNull final EmployeeTable.Format format, @Nullable final Integer count)
+            throws IOException {
+        EmployeeTable.Builder builder = format.builder(INITIAL_CAPACITY);
+        int decoded = 0;
+        try (JsonParser parser = employeeReader.createParser(in)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                expect(parser, token, JsonToken.START_OBJECT);
+                builder.add(employeeReader.<Employee>readValue(parser));
+                decoded++;
+            }
+        }
+        if (count != null && decoded != count) {
+            throw new IOException("Employee list holds " + decoded + " employees, expected " + count);
+        }
+        return builder.build();
+    }
+
+    private void readEmployees(JsonParser parser, EmployeeTable.Builder builder) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            expect(parser, token, JsonToken.START_OBJECT);
+            builder.add(employeeReader.<Employee>readValue(parser));
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected " + actual + " in employee list, expected " + expected + " at "
+                    + parser.currentLocation());
+        }
+    }
+}
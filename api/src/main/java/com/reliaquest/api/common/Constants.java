@@ -3,17 +3,27 @@ package com.reliaquest.api.common;
 public class Constants {
 
     // path constants
-    public static final String BASE_URL =
-            "http://localhost:8112/api/v1"; // TODO add to application properties for production/test env variables
-
     public static final String PATH_EMPLOYEE = "/employee";
     public static final String PATH_SEARCH = "/search/{searchString}";
     public static final String PATH_ID = "/{id}";
     public static final String PATH_HIGHEST_SALARY = "/highestSalary";
     public static final String PATH_TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES = "/topTenHighestEarningEmployeeNames";
+    public static final String PATH_UPSTREAM = "/upstream";
+    public static final String PATH_STATS = "/stats";
+    public static final String PATH_CHANGES = "/changes";
+
+    // employee service constants
+    public static final String HEADER_EMPLOYEE_VERSION = "X-Employee-Version";
+    public static final String HEADER_EMPLOYEE_COUNT = "X-Employee-Count";
+    public static final String HEADER_PAGE_CURSORS = "X-Page-Cursors";
+    public static final String PARAM_SINCE = "since";
+    public static final String PARAM_LIMIT = "limit";
+    public static final String PARAM_CURSOR = "cursor";
 
     // media type constants
     public static final String APPLICATION_JSON = "application/json";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
 
     private Constants() {
         throw new IllegalStateException("Utility class");
@@ -0,0 +1,24 @@
+package com.reliaquest.api.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+
+/**
+ * The creates and deletes the employee service made after a version, in order, and the version they lead to.
+ *
+ * <p>{@code reset} means the employee service cannot say what changed since that version, because its change log no
+ * longer reaches back that far or the version comes from another instance or run; the full list must be loaded
+ * again.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record EmployeeChanges(String version, boolean reset, List<Change> changes) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Change(Type type, Employee employee) {}
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -15,12 +15,20 @@ public record Response<T>(T data, Status status, String error) {
         return new Response<>(data, Status.HANDLED, null);
     }
 
+    /**
+     * Wraps data served from the last snapshot while the employee service is unavailable.
+     */
+    public static <T> Response<T> stale(T data) {
+        return new Response<>(data, Status.STALE, null);
+    }
+
     public static <T> Response<T> error(String error) {
         return new Response<>(null, Status.ERROR, error);
     }
 
     public enum Status {
         HANDLED("Successfully processed request."),
+        STALE("Served from the last known good data."),
         ERROR("Failed to process request.");
 
         @JsonValue
@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class AdaptiveLimiterConfig {
+
+    @Value("${employee.service.limiter.initial-limit:5}")
+    private int initialLimit;
+
+    @Value("${employee.service.limiter.min-limit:1}")
+    private int minLimit;
+
+    @Value("${employee.service.limiter.max-limit:64}")
+    private int maxLimit;
+
+    @Value("${employee.service.limiter.backoff-ratio:0.5}")
+    private double backoffRatio;
+
+    @Bean
+    public AdaptiveLimiter adaptiveLimiter() {
+        log.info(
+                "Employee service concurrency limit starts at {} and adapts between {} and {}",
+                initialLimit,
+                minLimit,
+                maxLimit);
+        return new AdaptiveLimiter(initialLimit, minLimit, maxLimit, backoffRatio);
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the {@link CircuitBreaker} for calls to the employee service from the {@code employee.service.circuit-breaker}
+ * settings, the only ones it reads.
+ *
+ * <p>The breaker is built here by hand and never registered with the resilience4j Spring Boot starter, whose
+ * auto-configuration Boot 3 does not load; {@code resilience4j.circuitbreaker.*} properties therefore have no
+ * effect.</p>
+ */
+@Configuration
+@Slf4j
+public class CircuitBreakerConfiguration {
+
+    @Value("${employee.service.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${employee.service.circuit-breaker.sliding-window-size:10}")
+    private int slidingWindowSize;
+
+    @Value("${employee.service.circuit-breaker.minimum-number-of-calls:5}")
+    private int minimumNumberOfCalls;
+
+    @Value("${employee.service.circuit-breaker.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${employee.service.circuit-breaker.permitted-number-of-calls-in-half-open-state:2}")
+    private int permittedNumberOfCallsInHalfOpenState;
+
+    @Bean
+    public CircuitBreaker employeeServiceCircuitBreaker() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .permittedNumberOfCallsInHalfOpenState(permittedNumberOfCallsInHalfOpenState)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        CircuitBreaker circuitBreaker = CircuitBreakerRegistry.of(config).circuitBreaker("employeeService");
+        circuitBreaker
+                .getEventPublisher()
+                .onStateTransition(
+                        event -> log.warn("Employee service circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.Hedger;
+import com.reliaquest.api.client.RetryBudget;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class HedgeConfig {
+
+    @Value("${employee.service.hedge.enabled:false}")
+    private boolean enabled;
+
+    @Value("${employee.service.hedge.percentile:0.95}")
+    private double percentile;
+
+    @Value("${employee.service.hedge.initial-delay-millis:200}")
+    private long initialDelayMillis;
+
+    @Value("${employee.service.hedge.min-delay-millis:20}")
+    private long minDelayMillis;
+
+    /**
+     * Hedges draw on the same {@link RetryBudget} as retries, which earns tokens from every call sent to the employee
+     * service, so the two together stay within the configured share of extra load.
+     */
+    @Bean
+    public Hedger hedger(RetryBudget retryBudget) {
+        if (!enabled) {
+            return Hedger.disabled();
+        }
+        log.info("Hedging employee lookups after the p{} latency", Math.round(percentile * 100));
+        return new Hedger(
+                percentile, Duration.ofMillis(initialDelayMillis), Duration.ofMillis(minDelayMillis), retryBudget);
+    }
+}
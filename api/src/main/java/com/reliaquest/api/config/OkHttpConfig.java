@@ -1,16 +1,85 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.ConnectionMetrics;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
+/**
+ * Builds the {@link OkHttpClient} used to call the employee service from the {@code employee.service.http} settings.
+ *
+ * <p>{@code protocol} selects the transport: {@code http_1_1}, {@code h2_prior_knowledge} for cleartext HTTP/2 (h2c)
+ * without an upgrade round trip, or {@code http_2} for HTTP/2 negotiated over TLS with HTTP/1.1 as a fallback. Over
+ * HTTP/2 a single pooled connection carries many concurrent calls as separate streams.</p>
+ */
+@Configuration
+@Slf4j
 public class OkHttpConfig {
 
-    public static OkHttpClient configureClient() {
+    @Value("${employee.service.http.max-idle-connections:5}")
+    private int maxIdleConnections;
+
+    @Value("${employee.service.http.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${employee.service.http.max-requests:256}")
+    private int maxRequests;
+
+    @Value("${employee.service.http.max-requests-per-host:256}")
+    private int maxRequestsPerHost;
+
+    @Value("${employee.service.http.timeout-seconds:10}")
+    private long timeoutSeconds;
+
+    @Value("${employee.service.http.protocol:http_1_1}")
+    private Protocol protocol;
+
+    @Bean
+    public ConnectionMetrics connectionMetrics() {
+        return new ConnectionMetrics();
+    }
+
+    @Bean
+    public OkHttpClient employeeServiceHttpClient(ConnectionMetrics connectionMetrics) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        Duration timeout = Duration.ofSeconds(timeoutSeconds);
+        log.info(
+                "Employee service client: {}, {} idle connections kept for {}s, {} requests per host",
+                protocol,
+                maxIdleConnections,
+                keepAliveSeconds,
+                maxRequestsPerHost);
         return new OkHttpClient.Builder()
-                .connectTimeout(10, TimeUnit.SECONDS)
-                .readTimeout(10, TimeUnit.SECONDS)
-                .writeTimeout(10, TimeUnit.SECONDS)
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .protocols(protocols(protocol))
+                .eventListener(connectionMetrics)
+                .connectTimeout(timeout)
+                .readTimeout(timeout)
+                .writeTimeout(timeout)
                 .retryOnConnectionFailure(true)
                 .build();
     }
+
+    private static List<Protocol> protocols(Protocol protocol) {
+        switch (protocol) {
+            case HTTP_1_1:
+            case H2_PRIOR_KNOWLEDGE:
+                return List.of(protocol);
+            case HTTP_2:
+                return List.of(Protocol.HTTP_2, Protocol.HTTP_1_1);
+            default:
+                throw new IllegalArgumentException("Unsupported employee service protocol: " + protocol);
+        }
+    }
 }
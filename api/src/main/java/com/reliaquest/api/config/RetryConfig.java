@@ -0,0 +1,61 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.RetryBudget;
+import com.reliaquest.api.client.RetryScheduler;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class RetryConfig {
+
+    @Value("${employee.service.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${employee.service.retry.base-delay-millis:100}")
+    private long baseDelayMillis;
+
+    @Value("${employee.service.retry.max-delay-millis:10000}")
+    private long maxDelayMillis;
+
+    @Value("${spring.mvc.async.request-timeout:30s}")
+    private Duration requestTimeout;
+
+    @Value("${employee.service.retry.budget-ratio:0.2}")
+    private double budgetRatio;
+
+    @Value("${employee.service.retry.budget-max:10}")
+    private int budgetMax;
+
+    /**
+     * Shared by retries and hedges, the two kinds of extra call sent to the employee service.
+     */
+    @Bean
+    public RetryBudget retryBudget() {
+        return new RetryBudget(budgetRatio, budgetMax);
+    }
+
+    /**
+     * Closed with the application context, which stops the retry thread. Calls give up at the async request timeout,
+     * when Spring MVC answers the caller without them.
+     */
+    @Bean
+    public RetryScheduler retryScheduler(RetryBudget retryBudget) {
+        log.info(
+                "Employee service retries: {} attempts, backoff {}ms up to {}ms within {}ms, budget {} of calls",
+                maxAttempts,
+                baseDelayMillis,
+                maxDelayMillis,
+                requestTimeout.toMillis(),
+                budgetRatio);
+        return new RetryScheduler(
+                maxAttempts,
+                Duration.ofMillis(baseDelayMillis),
+                Duration.ofMillis(maxDelayMillis),
+                requestTimeout,
+                retryBudget);
+    }
+}
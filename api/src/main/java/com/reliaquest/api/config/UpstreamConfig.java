@@ -0,0 +1,41 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.UpstreamBalancer;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Slf4j
+public class UpstreamConfig {
+
+    @Value("${employee.service.base-url:http://localhost:8112/api/v1}")
+    private List<String> baseUrls;
+
+    @Value("${employee.service.ejection.consecutive-failures:3}")
+    private int consecutiveFailures;
+
+    @Value("${employee.service.ejection.base-seconds:10}")
+    private long baseEjectionSeconds;
+
+    @Value("${employee.service.ejection.max-seconds:120}")
+    private long maxEjectionSeconds;
+
+    @Bean
+    public UpstreamBalancer upstreamBalancer() {
+        log.info(
+                "Employee service instances: {}, ejected after {} failures for {}s up to {}s",
+                baseUrls,
+                consecutiveFailures,
+                baseEjectionSeconds,
+                maxEjectionSeconds);
+        return new UpstreamBalancer(
+                baseUrls.stream().map(String::trim).toList(),
+                consecutiveFailures,
+                Duration.ofSeconds(baseEjectionSeconds),
+                Duration.ofSeconds(maxEjectionSeconds));
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.EmployeeListHttpMessageConverter;
+import com.reliaquest.api.controller.PendingResponseEntityReturnValueHandler;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Registers the {@link EmployeeListHttpMessageConverter} ahead of the Jackson converter, which would otherwise
+     * claim snapshot lists as well.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new EmployeeListHttpMessageConverter(objectMapper));
+    }
+
+    /**
+     * Registers the {@link PendingResponseEntityReturnValueHandler}, which writes the employee service's pending
+     * results asynchronously.
+     */
+    @Override
+    public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+        handlers.add(new PendingResponseEntityReturnValueHandler());
+    }
+}
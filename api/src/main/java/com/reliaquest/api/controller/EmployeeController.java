@@ -2,14 +2,19 @@ package com.reliaquest.api.controller;
 
 import static com.reliaquest.api.common.Constants.*;
 
+import com.reliaquest.api.cache.EmployeeList;
 import com.reliaquest.api.common.Response;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
@@ -20,8 +25,15 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping(value = PATH_EMPLOYEE, produces = APPLICATION_JSON)
 public class EmployeeController implements IEmployeeController {
 
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
     private final EmployeeService employeeService;
 
+    /**
+     * Distinguishes this process in list ETags, because snapshot versions start over on every restart.
+     */
+    private final String etagPrefix = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
     @Autowired
     public EmployeeController(@NonNull final EmployeeService employeeService) {
         Objects.requireNonNull(employeeService, "EmployeeService must not be null");
@@ -34,10 +46,19 @@ public class EmployeeController implements IEmployeeController {
      * @return ResponseEntity containing a list of all employees.
      *         If the list is empty, returns a 204 No Content response.
      *         If there is an error in retrieving the list, returns a 400 Bad Request response.
+     *         A list served from a snapshot carries a strong ETag for the snapshot version, and a request whose
+     *         If-None-Match matches it is answered with 304 Not Modified and no body.
+     *         While the employee service is unavailable the last snapshot is served with a
+     *         {@code Warning: 110 - "Response is Stale"} header, as are the other reads.
      */
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
         Response<List<Employee>> allEmployees = employeeService.getAllEmployees();
+        if (allEmployees != null && allEmployees.data() instanceof EmployeeList employees && !employees.isEmpty()) {
+            return ok(allEmployees.status())
+                    .eTag(etagPrefix + "-v" + employees.getVersion())
+                    .body(employees);
+        }
         return getListResponseEntity(allEmployees);
     }
 
@@ -63,12 +84,12 @@ public class EmployeeController implements IEmployeeController {
      * @return ResponseEntity containing the employee with the given ID.
      *         If there is an error in retrieving the employee, returns a 400 Bad Request response.
      *         If the employee is not found, returns a 404 Not Found response.
+     *         If the employee has to be fetched from the employee service, the response is written asynchronously.
      */
     @GetMapping(value = PATH_ID)
     @Override
     public ResponseEntity<Employee> getEmployeeById(@NonNull final String id) {
-        Response<Employee> employeeById = employeeService.getEmployeeById(id);
-        return getEmployeeResponse(employeeById);
+        return respond(employeeService.getEmployeeById(id).thenApply(EmployeeController::getEmployeeResponse));
     }
 
     /**
@@ -84,7 +105,7 @@ public class EmployeeController implements IEmployeeController {
         if (highestSalaryOfEmployees == null) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(highestSalaryOfEmployees);
+        return ok(employeeService.isStale()).body(highestSalaryOfEmployees);
     }
 
     /**
@@ -98,7 +119,7 @@ public class EmployeeController implements IEmployeeController {
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         List<String> topTenHighestEarningEmployeeNames = employeeService.getTopTenHighestEarningEmployeeNames();
         if (topTenHighestEarningEmployeeNames != null) {
-            return ResponseEntity.ok(topTenHighestEarningEmployeeNames);
+            return ok(employeeService.isStale()).body(topTenHighestEarningEmployeeNames);
         } else {
             return ResponseEntity.noContent().build();
         }
@@ -111,12 +132,13 @@ public class EmployeeController implements IEmployeeController {
      * @return ResponseEntity containing the newly created employee.
      *         If the input is invalid, returns a 400 Bad Request response.
      *         If there is an error in creating the employee, returns a 500 Internal Server Error response.
+     *         The response is written asynchronously once the employee service has answered.
      */
     @PostMapping
     @Override
     public ResponseEntity<Employee> createEmployee(@RequestBody @NonNull final Object employeeInput) {
-        Response<Employee> employee = employeeService.createEmployee(employeeInput);
-        return getEmployeeResponse(employee);
+        return respond(
+                employeeService.createEmployee(employeeInput).thenApply(EmployeeController::getEmployeeResponse));
     }
 
     /**
@@ -126,17 +148,49 @@ public class EmployeeController implements IEmployeeController {
      * @return ResponseEntity containing the name of the deleted employee.
      *         If the employee is not found, returns a 404 Not Found response.
      *         If there is an error in deleting the employee, returns a 500 Internal Server Error response.
+     *         The response is written asynchronously once the employee service has answered.
      */
     @DeleteMapping(value = PATH_ID)
     @Override
     public ResponseEntity<String> deleteEmployeeById(@NonNull final String id) {
-        Response<Employee> employeeResponse = employeeService.deleteEmployeeById(id);
-        String employeeName = employeeResponse.data().getName();
-        if (employeeName == null) {
-            return ResponseEntity.notFound().build(); // 204 or 404? adjust to consuming application needs
-        } else {
-            return ResponseEntity.ok(employeeName);
+        return respond(employeeService.deleteEmployeeById(id).thenApply(employeeResponse -> {
+            String employeeName = employeeResponse.data().getName();
+            if (employeeName == null) {
+                return ResponseEntity.notFound().build(); // 204 or 404? adjust to consuming application needs
+            } else {
+                return ResponseEntity.ok(employeeName);
+            }
+        }));
+    }
+
+    /**
+     * Returns a result that is already complete as is, and wraps a pending one in a {@link PendingResponseEntity}
+     * so it is written asynchronously instead of blocking the request thread.
+     */
+    private static <T> ResponseEntity<T> respond(@NonNull final CompletableFuture<ResponseEntity<T>> result) {
+        if (!result.isDone()) {
+            return new PendingResponseEntity<>(result);
         }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder ok(@Nullable Response.Status status) {
+        return ok(status == Response.Status.STALE);
+    }
+
+    /**
+     * Starts a 200 OK response, carrying a {@code Warning: 110} header when its data may be out of date.
+     */
+    private static ResponseEntity.BodyBuilder ok(boolean stale) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        return stale ? builder.header(HttpHeaders.WARNING, STALE_WARNING) : builder;
     }
 
     @NotNull private static ResponseEntity<List<Employee>> getListResponseEntity(
@@ -145,7 +199,7 @@ public class EmployeeController implements IEmployeeController {
             if (null == allEmployees.data() || allEmployees.data().isEmpty()) {
                 return ResponseEntity.noContent().build();
             } else {
-                return ResponseEntity.ok(allEmployees.data());
+                return ok(allEmployees.status()).body(allEmployees.data());
             }
         } else {
             return ResponseEntity.badRequest().build();
@@ -157,7 +211,7 @@ public class EmployeeController implements IEmployeeController {
             if (null == employeeResponse.data()) {
                 return ResponseEntity.noContent().build();
             } else {
-                return ResponseEntity.ok(employeeResponse.data());
+                return ok(employeeResponse.status()).body(employeeResponse.data());
             }
         } else {
             return ResponseEntity.notFound().build(); // 204 or 404? adjust to consuming application needs
@@ -0,0 +1,66 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.cache.EmployeeList;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+/**
+ * Writes an {@link EmployeeList} as JSON from the bytes it remembers.
+ *
+ * <p>A snapshot's list is serialized the first time it is written and every later response for the same snapshot
+ * version copies those bytes straight to the output, with an exact {@code Content-Length}. Any other list is left to
+ * the regular Jackson converter. This converter never reads.</p>
+ */
+public class EmployeeListHttpMessageConverter extends AbstractHttpMessageConverter<EmployeeList> {
+
+    private final ObjectWriter writer;
+
+    public EmployeeListHttpMessageConverter(@NonNull final ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        Objects.requireNonNull(objectMapper, "ObjectMapper must not be null");
+        this.writer = objectMapper.writerFor(new TypeReference<List<Employee>>() {});
+    }
+
+    @Override
+    protected boolean supports(@NonNull final Class<?> clazz) {
+        return EmployeeList.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EmployeeList readInternal(
+            @NonNull final Class<? extends EmployeeList> clazz, @NonNull final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("EmployeeList cannot be read", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@NonNull final EmployeeList employees, final MediaType contentType)
+            throws IOException {
+        return (long) serialize(employees).length;
+    }
+
+    @Override
+    protected void writeInternal(@NonNull final EmployeeList employees, @NonNull final HttpOutputMessage outputMessage)
+            throws IOException {
+        outputMessage.getBody().write(serialize(employees));
+    }
+
+    private byte[] serialize(EmployeeList employees) throws IOException {
+        return employees.serialized(writer::writeValueAsBytes);
+    }
+}
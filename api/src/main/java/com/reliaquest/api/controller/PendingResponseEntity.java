@@ -0,0 +1,35 @@
+package com.reliaquest.api.controller;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+
+/**
+ * A {@link ResponseEntity} that is still being computed.
+ *
+ * <p>{@link IEmployeeController} fixes the handler return types to {@link ResponseEntity}, so a handler whose result
+ * depends on the employee service returns this placeholder instead of blocking the request thread.
+ * {@link PendingResponseEntityReturnValueHandler} hands the carried future to Spring MVC's async support, and the
+ * response is written once the future completes. Outside Spring MVC the placeholder reads as an empty
+ * {@code 202 Accepted}.</p>
+ *
+ * @param <T> the body type of the eventual response
+ */
+public final class PendingResponseEntity<T> extends ResponseEntity<T> {
+
+    private final CompletableFuture<ResponseEntity<T>> result;
+
+    public PendingResponseEntity(@NonNull final CompletableFuture<ResponseEntity<T>> result) {
+        super(HttpStatus.ACCEPTED);
+        this.result = Objects.requireNonNull(result, "result must not be null");
+    }
+
+    /**
+     * @return the future for the response to write
+     */
+    public CompletableFuture<ResponseEntity<T>> getResult() {
+        return result;
+    }
+}
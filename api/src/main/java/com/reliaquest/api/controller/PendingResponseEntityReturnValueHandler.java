@@ -0,0 +1,44 @@
+package com.reliaquest.api.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.DeferredResultMethodReturnValueHandler;
+
+/**
+ * Writes a {@link PendingResponseEntity} asynchronously.
+ *
+ * <p>Being an {@link AsyncHandlerMethodReturnValueHandler}, it is asked first for every pending entity even when it
+ * is registered after the built-in {@link ResponseEntity} handler, and is never asked for any other value. The
+ * carried future is passed on to Spring's own {@link DeferredResultMethodReturnValueHandler}, which starts async
+ * processing and re-dispatches with the completed {@link ResponseEntity}.</p>
+ */
+public class PendingResponseEntityReturnValueHandler implements AsyncHandlerMethodReturnValueHandler {
+
+    private final DeferredResultMethodReturnValueHandler futures = new DeferredResultMethodReturnValueHandler();
+
+    @Override
+    public boolean isAsyncReturnValue(@Nullable final Object returnValue, @NonNull final MethodParameter returnType) {
+        return returnValue instanceof PendingResponseEntity<?>;
+    }
+
+    @Override
+    public boolean supportsReturnType(@NonNull final MethodParameter returnType) {
+        return ResponseEntity.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(
+            @Nullable final Object returnValue,
+            @NonNull final MethodParameter returnType,
+            @NonNull final ModelAndViewContainer mavContainer,
+            @NonNull final NativeWebRequest webRequest)
+            throws Exception {
+        PendingResponseEntity<?> pending = (PendingResponseEntity<?>) returnValue;
+        futures.handleReturnValue(pending == null ? null : pending.getResult(), returnType, mavContainer, webRequest);
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.controller;
+
+import static com.reliaquest.api.common.Constants.*;
+
+import com.reliaquest.api.service.EmployeeService;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = PATH_UPSTREAM, produces = APPLICATION_JSON)
+public class UpstreamStatsController {
+
+    private final EmployeeService employeeService;
+
+    @Autowired
+    public UpstreamStatsController(@NonNull final EmployeeService employeeService) {
+        Objects.requireNonNull(employeeService, "EmployeeService must not be null");
+        this.employeeService = employeeService;
+    }
+
+    /**
+     * Retrieves diagnostic counters about the calls made to the employee service.
+     *
+     * @return ResponseEntity containing the counters by name.
+     */
+    @GetMapping(value = PATH_STATS)
+    public ResponseEntity<Map<String, Object>> getUpstreamStats() {
+        return ResponseEntity.ok(employeeService.getUpstreamStats());
+    }
+}
@@ -2,26 +2,43 @@ package com.reliaquest.api.service;
 
 import static com.reliaquest.api.common.Constants.*;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeLoad;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.cache.NameIndex;
+import com.reliaquest.api.cache.SalaryIndex;
 import com.reliaquest.api.client.EmployeeServiceClient;
+import com.reliaquest.api.client.Hedger;
+import com.reliaquest.api.codec.EmployeeCodec;
+import com.reliaquest.api.common.EmployeeChanges;
 import com.reliaquest.api.common.EmployeeDeleteRequest;
 import com.reliaquest.api.common.EmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
@@ -29,120 +46,169 @@ import org.springframework.stereotype.Service;
 @Service
 public class EmployeeService {
 
-    private static final String CACHE_KEY = "allEmployees";
+    private static final long DEFAULT_REFRESH_INTERVAL_SECONDS = 480;
+    private static final long DEFAULT_RETRY_INTERVAL_SECONDS = 30;
+    private static final int DEFAULT_PAGE_SIZE = 0;
+    private static final int DEFAULT_PAGE_PARALLELISM = 4;
+    private static final int TOP_EARNERS_LIMIT = 10;
+
     private final EmployeeServiceClient employeeServiceClient;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeCodec employeeCodec;
+
+    private final EmployeeTable.Format format;
+
+    private final int pageSize;
+
+    private final int pageParallelism;
 
-    private final ConcurrentHashMap<String, com.reliaquest.api.common.Response<List<Employee>>> cache =
-            new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final boolean stream;
+
+    private final EmployeeSnapshotCache snapshotCache;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final Hedger hedger;
 
     @Autowired
-    public EmployeeService(@NonNull final EmployeeServiceClient employeeServiceClient) {
+    public EmployeeService(
+            @NonNull final EmployeeServiceClient employeeServiceClient,
+            @NonNull final EmployeeCodec employeeCodec,
+            @NonNull final Hedger hedger,
+            @Value("${employee.cache.refresh-interval-seconds:" + DEFAULT_REFRESH_INTERVAL_SECONDS + "}")
+                    final long refreshIntervalSeconds,
+            @Value("${employee.cache.retry-interval-seconds:" + DEFAULT_RETRY_INTERVAL_SECONDS + "}")
+                    final long retryIntervalSeconds,
+            @Value("${employee.cache.format:objects}") final EmployeeTable.Format format,
+            @Value("${employee.cache.page-size:" + DEFAULT_PAGE_SIZE + "}") final int pageSize,
+            @Value("${employee.cache.page-parallelism:" + DEFAULT_PAGE_PARALLELISM + "}") final int pageParallelism,
+            @Value("${employee.cache.stream:false}") final boolean stream,
+            @Value("${spring.threads.virtual.enabled:false}") final boolean virtualThreads) {
         Objects.requireNonNull(employeeServiceClient, "EmployeeServiceClient must not be null");
         this.employeeServiceClient = employeeServiceClient;
+        this.employeeCodec = Objects.requireNonNull(employeeCodec, "EmployeeCodec must not be null");
+        this.hedger = Objects.requireNonNull(hedger, "Hedger must not be null");
+        this.format = Objects.requireNonNull(format, "format must not be null");
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("pageSize must not be negative");
+        }
+        if (pageParallelism < 1) {
+            throw new IllegalArgumentException("pageParallelism must be at least 1");
+        }
+        this.pageSize = pageSize;
+        this.pageParallelism = pageParallelism;
+        this.stream = stream;
+        this.snapshotCache = new EmployeeSnapshotCache(
+                this::fetchAllEmployees,
+                this::fetchChanges,
+                Duration.ofSeconds(refreshIntervalSeconds),
+                Duration.ofSeconds(retryIntervalSeconds),
+                virtualThreads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshotCache.close();
     }
 
     /**
      * Get all employees from service.
      *
-     * <p>This method is cached for 10 minutes, so subsequent calls will return the cached result.
+     * <p>This method is served from an {@link EmployeeSnapshotCache}: only the very first call waits for the
+     * employee service, after which the snapshot is refreshed in the background and the last good snapshot keeps
+     * being served while a refresh is in flight or failing. While the employee service's circuit breaker holds calls
+     * back the snapshot is still served, marked {@code STALE}.
      * </p>
      *
      * @return a {@link com.reliaquest.api.common.Response} containing a list of all employees
      */
     @RateLimiter(name = "rqRateLimiter")
     public com.reliaquest.api.common.Response<List<Employee>> getAllEmployees() {
-        com.reliaquest.api.common.Response<List<Employee>> cachedResult = cache.get(CACHE_KEY);
-        if (cachedResult != null) {
-            return cachedResult;
+        com.reliaquest.api.common.Response<EmployeeSnapshot> snapshot = snapshotCache.get();
+        if (snapshot.data() == null) {
+            return com.reliaquest.api.common.Response.error(snapshot.error());
         }
-
-        com.reliaquest.api.common.Response<List<Employee>> result = fetchAllEmployees();
-        cache.put(CACHE_KEY, result);
-        scheduler.schedule(() -> cache.remove(CACHE_KEY), 10, TimeUnit.MINUTES);
-        return result;
+        return served(snapshot.data().getEmployees());
     }
 
     /**
      * Search for employees by name.
      *
-     * <p>This method will return a list of all employees whose name matches the given search string.
+     * <p>This method will return a list of all employees whose name contains the given search string,
+     * looked up in the current snapshot's {@link NameIndex}.
      * </p>
      *
      * @param searchString the name to search for
      * @return a {@link com.reliaquest.api.common.Response} containing a list of all matching employees
      */
     public com.reliaquest.api.common.Response<List<Employee>> searchByEmployeeName(@NonNull final String searchString) {
-        List<Employee> data = getAllEmployees().data();
-        if (data == null) {
+        EmployeeSnapshot snapshot = snapshotCache.get().data();
+        if (snapshot == null) {
             return com.reliaquest.api.common.Response.error("No employees found");
         }
-        List<Employee> list = Optional.of(getAllEmployees().data().stream()
-                        .filter(Objects::nonNull)
-                        .filter(employee -> employee.getName().contains(searchString))
-                        .toList())
-                .orElse(Collections.emptyList());
+        List<Employee> list = snapshot.searchByName(searchString);
         if (list.isEmpty()) {
             return com.reliaquest.api.common.Response.error("No employees found");
         } else {
-            return com.reliaquest.api.common.Response.handledWith(list);
+            return served(list);
         }
     }
 
     /**
      * Retrieves an employee by their ID.
      *
-     * <p>This method sends a GET request to the employee service to fetch
-     * the employee with the specified ID. If the employee is found, it returns
-     * a {@link com.reliaquest.api.common.Response} containing the employee data.
-     * If there is an error during the request, it logs the error and returns
+     * <p>This method first looks the ID up in the snapshot already held by the cache.
+     * Only if it is not there does it send a GET request to the employee service to fetch
+     * the employee with the specified ID, without blocking the caller; a slow request may be hedged by the
+     * {@link Hedger}. If the employee is found, the returned future
+     * completes with a {@link com.reliaquest.api.common.Response} containing the employee data.
+     * If there is an error during the request, it logs the error and completes with
      * an error response.</p>
      *
      * @param id the ID of the employee to retrieve
-     * @return a {@link com.reliaquest.api.common.Response} containing the employee data,
+     * @return a future {@link com.reliaquest.api.common.Response} containing the employee data,
      *         or an error response if the employee is not found or an error occurs
      */
     @RateLimiter(name = "rqRateLimiter")
-    public com.reliaquest.api.common.Response<Employee> getEmployeeById(@NonNull final String id) {
-        String format = String.format(PATH_ID).replace("{id}", id);
-        try (Response response = employeeServiceClient.get(PATH_EMPLOYEE + format)) {
-            return handleResponse(response);
-        } catch (IOException e) {
-            log.error(e.getMessage());
-            return handleException(e);
+    public CompletableFuture<com.reliaquest.api.common.Response<Employee>> getEmployeeById(@NonNull final String id) {
+        Optional<Employee> cached = snapshotCache.peek().flatMap(snapshot -> snapshot.findById(id));
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(served(cached.get()));
         }
+        String path = PATH_EMPLOYEE + PATH_ID.replace("{id}", id);
+        return singleFlight.executeAsync("GET " + path, () -> fetchEmployee(path));
     }
 
     /**
      * Retrieves the highest salary of all employees.
      *
-     * <p>This method first fetches all employees, then streams them to find the
-     * highest salary. If there are no employees, it returns 0.</p>
+     * <p>This method reads the head of the current snapshot's {@link SalaryIndex}.
+     * If there are no employees, it returns 0.</p>
      *
-     * @return the highest salary of all employees
+     * @return the highest salary of all employees, or null if no snapshot could be loaded
      */
     public Integer getHighestSalaryOfEmployees() {
-        return getAllEmployees().data().stream()
-                .mapToInt(Employee::getSalary)
-                .max()
-                .orElse(0);
+        EmployeeSnapshot snapshot = snapshotCache.get().data();
+        if (snapshot == null) {
+            return null;
+        }
+        return snapshot.highestSalary().orElse(0);
     }
 
     /**
      * Retrieves the names of the top ten highest earning employees.
      *
-     * <p>This method fetches all employees and sorts them in descending order
-     * based on their salaries. It then limits the result to the top ten employees
-     * and maps them to their names.</p>
+     * <p>This method reads the first ten entries of the current snapshot's {@link SalaryIndex},
+     * which is already ordered by descending salary, and maps them to their names.</p>
      *
-     * @return a list of names of the top ten highest earning employees
+     * @return a list of names of the top ten highest earning employees, or null if no snapshot could be loaded
      */
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return getAllEmployees().data().stream()
-                .sorted((e1, e2) -> e2.getSalary() - e1.getSalary())
-                .limit(10)
+        EmployeeSnapshot snapshot = snapshotCache.get().data();
+        if (snapshot == null) {
+            return null;
+        }
+        return snapshot.topEarners(TOP_EARNERS_LIMIT).stream()
                 .map(Employee::getName)
                 .toList();
     }
@@ -150,88 +216,319 @@ public class EmployeeService {
     /**
      * Creates a new employee in the service.
      *
-     * <p>This method will send a POST request to the employee service with the given employee input.
-     * If the request is successful, it will return a {@link com.reliaquest.api.common.Response} containing
-     * the newly created employee. If there is an error during the request, it will return an error response.
+     * <p>This method will send a POST request to the employee service with the given employee input, without
+     * blocking the caller. If the request is successful, the newly created employee is added to the cached snapshot
+     * and the returned future completes with it in a {@link com.reliaquest.api.common.Response}. If there is an error
+     * during the request, it will complete with an error response.
      * </p>
      *
      * @param employeeInput the employee data to create
-     * @return a {@link com.reliaquest.api.common.Response} containing the newly created employee or an error response
+     * @return a future {@link com.reliaquest.api.common.Response} containing the newly created employee or an error
+     *         response
      */
     @RateLimiter(name = "rqRateLimiter")
-    public com.reliaquest.api.common.Response<Employee> createEmployee(Object employeeInput) {
-        EmployeeRequest employeeRequest = objectMapper.convertValue(employeeInput, EmployeeRequest.class);
-
-        try (Response response =
-                employeeServiceClient.post(PATH_EMPLOYEE, objectMapper.writeValueAsString(employeeRequest))) {
-            if (response.isSuccessful()) {
-                return handleResponse(response);
-            } else {
-                return buildError(response);
-            }
+    public CompletableFuture<com.reliaquest.api.common.Response<Employee>> createEmployee(Object employeeInput) {
+        EmployeeRequest employeeRequest = employeeCodec.toEmployeeRequest(employeeInput);
+        byte[] body;
+        try {
+            body = employeeCodec.encode(employeeRequest);
         } catch (IOException e) {
-            log.error(e.getMessage());
-            return handleException(e);
+            return CompletableFuture.completedFuture(handleException(e));
         }
+
+        return employeeServiceClient.post(PATH_EMPLOYEE, body).handle((response, error) -> {
+            if (error != null) {
+                return handleException(error);
+            }
+            try (response) {
+                if (response.isSuccessful()) {
+                    com.reliaquest.api.common.Response<Employee> created = handleResponse(response);
+                    if (created.data() != null) {
+                        snapshotCache.added(created.data());
+                    }
+                    return created;
+                } else {
+                    return buildError(response);
+                }
+            }
+        });
     }
 
     /**
      * Deletes an employee by their ID.
      *
-     * <p>This method will find the employee with the given ID and then send a DELETE request to the
-     * employee service to delete the employee. If the request is successful, it will return a
-     * {@link com.reliaquest.api.common.Response} containing the deleted employee. If there is an error
-     * during the request, it will return an error response.</p>
+     * <p>This method will find the employee with the given ID in the current snapshot and then send a DELETE
+     * request to the employee service to delete the employee, without blocking the caller. If the request is
+     * successful, the employee is removed from the cached snapshot and the returned future completes with it in a
+     * {@link com.reliaquest.api.common.Response}. If there is an error during the request, it will complete with an
+     * error response.</p>
      *
      * @param employeeId the ID of the employee to delete
-     * @return a {@link com.reliaquest.api.common.Response} containing the deleted employee or an error response
+     * @return a future {@link com.reliaquest.api.common.Response} containing the deleted employee or an error response
      */
-    public com.reliaquest.api.common.Response<Employee> deleteEmployeeById(@NonNull final String employeeId) {
-        Employee employee = getAllEmployees().data().stream()
-                .filter(e -> e.getId().equals(employeeId))
-                .findFirst()
-                .orElse(null);
+    public CompletableFuture<com.reliaquest.api.common.Response<Employee>> deleteEmployeeById(
+            @NonNull final String employeeId) {
+        com.reliaquest.api.common.Response<EmployeeSnapshot> snapshot = snapshotCache.get();
+        if (snapshot.data() == null) {
+            return CompletableFuture.completedFuture(com.reliaquest.api.common.Response.error(snapshot.error()));
+        }
+        Employee employee = snapshot.data().findById(employeeId).orElse(null);
 
         if (employee == null) {
-            return com.reliaquest.api.common.Response.error("Employee not found");
+            return CompletableFuture.completedFuture(com.reliaquest.api.common.Response.error("Employee not found"));
         }
-        String employeeName = employee.getName();
-        try (Response response = employeeServiceClient.delete(
-                PATH_EMPLOYEE, objectMapper.writeValueAsString(new EmployeeDeleteRequest(employeeName)))) {
-            if (response.isSuccessful()) {
-                return com.reliaquest.api.common.Response.handledWith(employee);
-            } else {
-                return buildError(response);
-            }
+        byte[] body;
+        try {
+            body = employeeCodec.encode(new EmployeeDeleteRequest(employee.getName()));
         } catch (IOException e) {
-            log.error(e.getMessage());
-            return handleException(e);
+            return CompletableFuture.completedFuture(handleException(e));
         }
+
+        return employeeServiceClient.delete(PATH_EMPLOYEE, body).handle((response, error) -> {
+            if (error != null) {
+                return handleException(error);
+            }
+            try (response) {
+                if (response.isSuccessful()) {
+                    snapshotCache.removed(employee);
+                    return com.reliaquest.api.common.Response.handledWith(employee);
+                } else {
+                    return buildError(response);
+                }
+            }
+        });
     }
 
-    private com.reliaquest.api.common.Response<List<Employee>> fetchAllEmployees() {
-        try (Response response = employeeServiceClient.get(PATH_EMPLOYEE)) {
-            return handleResponseArray(response);
-        } catch (IOException e) {
-            log.error(e.getMessage());
-            return handleExceptionArray(e);
+    /**
+     * Counters describing the calls made to the employee service, for diagnostics.
+     *
+     * <p>{@code singleFlightExecuted} counts the upstream reads that were actually sent and
+     * {@code singleFlightShared} the ones that were saved by joining an identical read already in flight. The
+     * remaining counters describe how those calls used the HTTP connection pool.</p>
+     *
+     * @return the current counter values by name
+     */
+    public Map<String, Object> getUpstreamStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("singleFlightExecuted", singleFlight.getExecutedCount());
+        stats.put("singleFlightShared", singleFlight.getSharedCount());
+        stats.putAll(employeeServiceClient.getConnectionStats());
+        stats.putAll(hedger.getStats());
+        return stats;
+    }
+
+    /**
+     * Whether reads are being served from data that may be out of date, because the employee service's circuit
+     * breaker is holding calls back. Reads keep coming from the last snapshot in the meantime.
+     *
+     * @return true while the employee service is considered unavailable
+     */
+    public boolean isStale() {
+        return employeeServiceClient.isUpstreamDegraded();
+    }
+
+    private <T> com.reliaquest.api.common.Response<T> served(T data) {
+        return isStale()
+                ? com.reliaquest.api.common.Response.stale(data)
+                : com.reliaquest.api.common.Response.handledWith(data);
+    }
+
+    private CompletableFuture<com.reliaquest.api.common.Response<EmployeeLoad>> fetchAllEmployees() {
+        return singleFlight.executeAsync("GET " + PATH_EMPLOYEE, this::fetchAllEmployeesAsync);
+    }
+
+    /*
+     * Streamed, the list comes in one call as NDJSON and is decoded line by line as it arrives. Otherwise, with a
+     * page size set, the first page lists the cursors of the others, which are then fetched pageParallelism
+     * at a time and assembled in order. The snapshot takes the first page's version: pages read later may already
+     * hold changes made after it, which the change feed then applies a second time without effect.
+     */
+    private CompletableFuture<com.reliaquest.api.common.Response<EmployeeLoad>> fetchAllEmployeesAsync() {
+        if (stream) {
+            return employeeServiceClient.get(PATH_EMPLOYEE, APPLICATION_NDJSON).handle((response, error) -> {
+                if (error != null) {
+                    return handleExceptionArray(error);
+                }
+                try (response) {
+                    return handleResponseArray(response);
+                }
+            });
+        }
+        String path = pageSize > 0 ? PATH_EMPLOYEE + "?" + PARAM_LIMIT + "=" + pageSize : PATH_EMPLOYEE;
+        return employeeServiceClient
+                .get(path)
+                .handle((response, error) -> {
+                    if (error != null) {
+                        return CompletableFuture.completedFuture(handleExceptionArray(error));
+                    }
+                    try (response) {
+                        com.reliaquest.api.common.Response<EmployeeLoad> first = handleResponseArray(response);
+                        List<String> cursors = pageCursors(response);
+                        if (first.data() == null || cursors.isEmpty()) {
+                            return CompletableFuture.completedFuture(first);
+                        }
+                        return new PageFetch(first.data(), cursors).run();
+                    }
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static List<String> pageCursors(Response response) {
+        String header = response.header(HEADER_PAGE_CURSORS);
+        if (header == null || header.isBlank()) {
+            return List.of();
         }
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .filter(cursor -> !cursor.isEmpty())
+                .toList();
+    }
+
+    /**
+     * The pages after the first one of a paged load. At most {@code pageParallelism} pages are in flight; when the
+     * client's concurrency limiter turns a page away while others are still in flight, the page is queued again and
+     * the window shrinks to the pages in flight, so a throttled load slows down instead of failing. Any other failure
+     * fails the load, and the snapshot cache tries again after its retry interval.
+     */
+    private final class PageFetch {
+
+        private final EmployeeLoad first;
+        private final List<String> cursors;
+        private final List<EmployeeTable> tables;
+        private final Deque<Integer> pending = new ArrayDeque<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int window = pageParallelism;
+        private int inFlight;
+
+        private PageFetch(EmployeeLoad first, List<String> cursors) {
+            this.first = first;
+            this.cursors = new ArrayList<>(cursors);
+            this.tables = new ArrayList<>(Collections.nCopies(cursors.size(), null));
+            for (int index = 0; index < cursors.size(); index++) {
+                pending.add(index);
+            }
+        }
+
+        private CompletableFuture<com.reliaquest.api.common.Response<EmployeeLoad>> run() {
+            pump();
+            return done.handle((ignored, error) -> error != null ? handleExceptionArray(error) : assemble());
+        }
+
+        private void pump() {
+            Map<Integer, String> start = new LinkedHashMap<>();
+            synchronized (this) {
+                if (done.isDone()) {
+                    return;
+                }
+                while (inFlight < window && !pending.isEmpty()) {
+                    int index = pending.poll();
+                    start.put(index, cursors.get(index));
+                    inFlight++;
+                }
+                if (inFlight == 0 && pending.isEmpty()) {
+                    done.complete(null);
+                    return;
+                }
+            }
+            start.forEach(this::fetch);
+        }
+
+        private void fetch(int index, String cursor) {
+            String path = PATH_EMPLOYEE + "?" + PARAM_CURSOR + "=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+            employeeServiceClient.get(path).whenComplete((response, error) -> {
+                if (error != null) {
+                    rejected(index, unwrap(error));
+                    return;
+                }
+                try (response) {
+                    com.reliaquest.api.common.Response<EmployeeLoad> page = handleResponseArray(response);
+                    if (page.data() == null) {
+                        done.completeExceptionally(new IOException("Employee page failed: " + page.error()));
+                        return;
+                    }
+                    fetched(index, page.data().table(), pageCursors(response));
+                }
+            });
+        }
+
+        private void fetched(int index, EmployeeTable table, List<String> more) {
+            synchronized (this) {
+                inFlight--;
+                tables.set(index, table);
+                for (String cursor : more) {
+                    pending.add(cursors.size());
+                    cursors.add(cursor);
+                    tables.add(null);
+                }
+            }
+            pump();
+        }
+
+        private void rejected(int index, Throwable error) {
+            synchronized (this) {
+                inFlight--;
+                if (error instanceof RejectedExecutionException && inFlight > 0) {
+                    pending.addFirst(index);
+                    window = inFlight;
+                    return;
+                }
+            }
+            done.completeExceptionally(error);
+        }
+
+        private synchronized com.reliaquest.api.common.Response<EmployeeLoad> assemble() {
+            int size = first.table().size();
+            for (EmployeeTable table : tables) {
+                size += table.size();
+            }
+            EmployeeTable.Builder builder = format.builder(size);
+            addRows(builder, first.table());
+            for (EmployeeTable table : tables) {
+                addRows(builder, table);
+            }
+            return com.reliaquest.api.common.Response.handledWith(
+                    new EmployeeLoad(builder.build(), first.changeVersion()));
+        }
+
+        private static void addRows(EmployeeTable.Builder builder, EmployeeTable table) {
+            for (int row = 0; row < table.size(); row++) {
+                builder.add(table.employee(row));
+            }
+        }
+    }
+
+    private CompletableFuture<com.reliaquest.api.common.Response<EmployeeChanges>> fetchChanges(String since) {
+        String path = PATH_EMPLOYEE + PATH_CHANGES + "?" + PARAM_SINCE + "="
+                + URLEncoder.encode(since, StandardCharsets.UTF_8);
+        return employeeServiceClient.get(path).handle((response, error) -> {
+            if (error != null) {
+                return handleExceptionChanges(error);
+            }
+            try (response) {
+                return handleResponseChanges(response);
+            }
+        });
+    }
+
+    private CompletableFuture<com.reliaquest.api.common.Response<Employee>> fetchEmployee(String path) {
+        return hedger.call(() -> employeeServiceClient.get(path)).handle((response, error) -> {
+            if (error != null) {
+                return handleException(error);
+            }
+            try (response) {
+                return handleResponse(response);
+            }
+        });
     }
 
     private com.reliaquest.api.common.Response<Employee> handleResponse(Response response) {
         ResponseBody body = response.body();
         if (response.isSuccessful() && body != null) {
             try {
-                JsonNode jsonNode = objectMapper.readTree(body.string());
-                JsonNode data = jsonNode.get("data");
-                if (!data.isArray()) {
-                    Employee employee = objectMapper.readValue(data.toString(), Employee.class);
-                    return com.reliaquest.api.common.Response.handledWith(employee);
-                }
-                log.error("incompatible data: " + data);
-                return com.reliaquest.api.common.Response.error("incompatible data");
+                return com.reliaquest.api.common.Response.handledWith(employeeCodec
+                        .decodeEmployee(body.byteStream(), contentType(body))
+                        .data());
             } catch (IOException e) {
-                log.error(e.getMessage());
                 return handleException(e);
             }
         } else {
@@ -239,18 +536,15 @@ public class EmployeeService {
         }
     }
 
-    private com.reliaquest.api.common.Response<List<Employee>> handleResponseArray(Response response) {
+    private com.reliaquest.api.common.Response<EmployeeLoad> handleResponseArray(Response response) {
         ResponseBody body = response.body();
         if (response.isSuccessful() && body != null) {
             try {
-                com.reliaquest.api.common.Response<List<Employee>> result =
-                        objectMapper.readValue(body.string(), new TypeReference<>() {});
-                if (result.data() != null) {
-                    return com.reliaquest.api.common.Response.handledWith(result.data());
-                }
-                return com.reliaquest.api.common.Response.handledWith(Collections.emptyList());
+                return com.reliaquest.api.common.Response.handledWith(new EmployeeLoad(
+                        employeeCodec.decodeEmployees(
+                                body.byteStream(), format, contentType(body), employeeCount(response)),
+                        response.header(HEADER_EMPLOYEE_VERSION)));
             } catch (IOException e) {
-                log.error(e.getMessage());
                 return handleExceptionArray(e);
             }
         } else {
@@ -258,7 +552,43 @@ public class EmployeeService {
         }
     }
 
-    private com.reliaquest.api.common.Response<List<Employee>> buildErrorArray(Response response) {
+    private com.reliaquest.api.common.Response<EmployeeChanges> handleResponseChanges(Response response) {
+        ResponseBody body = response.body();
+        if (response.isSuccessful() && body != null) {
+            try {
+                return com.reliaquest.api.common.Response.handledWith(employeeCodec
+                        .decodeChanges(body.byteStream(), contentType(body))
+                        .data());
+            } catch (IOException e) {
+                return handleExceptionChanges(e);
+            }
+        } else {
+            return com.reliaquest.api.common.Response.error(response.code() + " " + response.message());
+        }
+    }
+
+    /*
+     * Announced with an NDJSON list only; a count that does not parse is not checked.
+     */
+    private static Integer employeeCount(Response response) {
+        String header = response.header(HEADER_EMPLOYEE_COUNT);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(header.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed {} header: {}", HEADER_EMPLOYEE_COUNT, header);
+            return null;
+        }
+    }
+
+    private static String contentType(ResponseBody body) {
+        MediaType contentType = body.contentType();
+        return contentType == null ? null : contentType.toString();
+    }
+
+    private com.reliaquest.api.common.Response<EmployeeLoad> buildErrorArray(Response response) {
         return com.reliaquest.api.common.Response.error(response.code() + " " + response.message());
     }
 
@@ -266,11 +596,25 @@ public class EmployeeService {
         return com.reliaquest.api.common.Response.error(response.code() + " " + response.message());
     }
 
-    private com.reliaquest.api.common.Response<List<Employee>> handleExceptionArray(IOException e) {
-        return com.reliaquest.api.common.Response.error(e.getMessage());
+    private com.reliaquest.api.common.Response<EmployeeLoad> handleExceptionArray(Throwable e) {
+        String message = unwrap(e).getMessage();
+        log.error(message);
+        return com.reliaquest.api.common.Response.error(message);
+    }
+
+    private com.reliaquest.api.common.Response<EmployeeChanges> handleExceptionChanges(Throwable e) {
+        String message = unwrap(e).getMessage();
+        log.error(message);
+        return com.reliaquest.api.common.Response.error(message);
+    }
+
+    private com.reliaquest.api.common.Response<Employee> handleException(Throwable e) {
+        String message = unwrap(e).getMessage();
+        log.error(message);
+        return com.reliaquest.api.common.Response.error(message);
     }
 
-    private com.reliaquest.api.common.Response<Employee> handleException(IOException e) {
-        return com.reliaquest.api.common.Response.error(e.getMessage());
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 }
@@ -0,0 +1,78 @@
+package com.reliaquest.api.service;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.lang.NonNull;
+
+/**
+ * Keyed registry of in-flight calls.
+ *
+ * <p>The first caller for a key starts the call; every caller that arrives with the same key while it is still running
+ * gets a future for that same result instead of starting its own call. Nothing here blocks. Once the call completes the
+ * key is released, so results are never cached here. Keys must identify both the operation and its arguments, and the
+ * same key must always produce the same result type.</p>
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Starts {@code call}, or joins the call already in flight under {@code key}, without blocking.
+     *
+     * <p>Every caller gets its own dependent future, so cancelling it never cancels the shared call. The key is
+     * released before the shared call's result is published.</p>
+     *
+     * @param key identifies the operation and its arguments
+     * @param call starts the call if none is in flight for the key
+     * @return a future for the result of the call, shared with every concurrent caller of the same key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(
+            @NonNull final String key, @NonNull final Supplier<CompletableFuture<T>> call) {
+        Objects.requireNonNull(key, "key must not be null");
+        Objects.requireNonNull(call, "call must not be null");
+
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, leader);
+        if (running != null) {
+            shared.increment();
+            return running.thenApply(result -> (T) result);
+        }
+
+        executed.increment();
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException | Error e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, error) -> {
+            inFlight.remove(key, leader);
+            if (error != null) {
+                leader.completeExceptionally(error);
+            } else {
+                leader.complete(result);
+            }
+        });
+        return leader.thenApply(result -> (T) result);
+    }
+
+    /**
+     * @return the number of calls that were actually run
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * @return the number of calls that were saved by joining a call already in flight
+     */
+    public long getSharedCount() {
+        return shared.sum();
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ColumnarEmployeeTableTest {
+
+    private Employee lowell, terence, blank;
+
+    @BeforeEach
+    void setUp() {
+        lowell = Employee.builder()
+                .id("d3e4d6e8-fb10-4350-a340-7f6f84574d50")
+                .name("Lowell Willms II")
+                .salary(58633)
+                .age(42)
+                .title("Engineer")
+                .email("lowell@company.com")
+                .build();
+        terence = Employee.builder()
+                .id("f97290eb-82b6-4966-9ad5-1d475c63e858")
+                .name("Terence Considine Ü")
+                .salary(346280)
+                .age(0)
+                .title("Engineer")
+                .email("terence@company.com")
+                .build();
+        blank = Employee.builder().id("3").build();
+    }
+
+    @DisplayName("rows materialize as the employees they were built from")
+    @Test
+    void roundTrip() {
+        EmployeeTable table = EmployeeTable.of(EmployeeTable.Format.COLUMNAR, List.of(lowell, blank, terence));
+
+        assertEquals(3, table.size());
+        assertEquals(lowell, table.employee(0));
+        assertEquals(blank, table.employee(1));
+        assertEquals(terence, table.employee(2));
+        assertEquals("Terence Considine Ü", table.name(2));
+        assertTrue(table.hasSalary(2));
+        assertEquals(346280, table.salary(2));
+        assertFalse(table.hasSalary(1));
+        assertTrue(table.hasId(0, lowell.getId()));
+        assertFalse(table.hasId(0, terence.getId()));
+        assertFalse(table.hasId(1, ""));
+    }
+
+    @DisplayName("format builds another columnar table")
+    @Test
+    void format() {
+        EmployeeTable table = EmployeeTable.of(EmployeeTable.Format.COLUMNAR, List.of(lowell));
+
+        assertEquals(EmployeeTable.Format.COLUMNAR, table.format());
+        assertEquals(
+                EmployeeTable.Format.OBJECTS,
+                EmployeeTable.of(EmployeeTable.Format.OBJECTS, List.of()).format());
+    }
+
+    @DisplayName("snapshots answer identically in both formats")
+    @Test
+    void formatsAgree() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            employees.add(Employee.builder()
+                    .id(String.valueOf(i))
+                    .name("Employee " + Integer.toString(i * 7919, 36))
+                    .salary(i % 7 == 0 ? null : (i * 104729) % 100000)
+                    .age(i % 5 == 0 ? null : 20 + i % 40)
+                    .title(i % 3 == 0 ? null : "Title " + i % 4)
+                    .email(i + "@company.com")
+                    .build());
+        }
+        EmployeeSnapshot objects = snapshot(EmployeeTable.Format.OBJECTS, employees);
+        EmployeeSnapshot columnar = snapshot(EmployeeTable.Format.COLUMNAR, employees);
+
+        assertEquals(objects.getEmployees(), columnar.getEmployees());
+        assertEquals(objects.topEarners(10), columnar.topEarners(10));
+        assertEquals(objects.highestSalary(), columnar.highestSalary());
+        for (String fragment : List.of("Emp", "ee 1", "zz", "9")) {
+            assertEquals(objects.searchByName(fragment), columnar.searchByName(fragment), fragment);
+        }
+        assertEquals(objects.findById("42"), columnar.findById("42"));
+        assertEquals(objects.findById("missing"), columnar.findById("missing"));
+    }
+
+    private static EmployeeSnapshot snapshot(EmployeeTable.Format format, List<Employee> employees) {
+        Employee added = Employee.builder()
+                .id("added")
+                .name("Employee added")
+                .salary(100000)
+                .title("Title 9")
+                .build();
+        return EmployeeSnapshot.of(1, Instant.EPOCH, EmployeeTable.of(format, employees))
+                .withEmployee(2, added)
+                .withoutEmployee(3, employees.get(10))
+                .withoutEmployee(4, employees.get(100));
+    }
+}
@@ -0,0 +1,273 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.common.EmployeeChanges;
+import com.reliaquest.api.common.Response;
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotCacheTest {
+
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(8);
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    private Supplier<CompletableFuture<Response<EmployeeLoad>>> loaderMock;
+    private EmployeeChangeFeed changeFeedMock;
+    private ScheduledExecutorService schedulerMock;
+    private EmployeeSnapshotCache snapshotCache;
+    private Employee employee, employee2;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        loaderMock = mock(Supplier.class);
+        changeFeedMock = mock(EmployeeChangeFeed.class);
+        schedulerMock = mock(ScheduledExecutorService.class);
+        snapshotCache = new EmployeeSnapshotCache(
+                loaderMock,
+                changeFeedMock,
+                schedulerMock,
+                REFRESH_INTERVAL,
+                RETRY_INTERVAL,
+                Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+        employee = Employee.builder().id("1").name("Lowell Willms II").build();
+        employee2 = Employee.builder().id("2").name("Terence Considine").build();
+    }
+
+    @DisplayName("first get loads synchronously and schedules a refresh")
+    @Test
+    void getLoadsOnce() {
+        when(loaderMock.get()).thenReturn(loaded(employee));
+
+        Response<EmployeeSnapshot> first = snapshotCache.get();
+        Response<EmployeeSnapshot> second = snapshotCache.get();
+
+        assertEquals(List.of(employee), first.data().getEmployees());
+        assertSame(first.data(), second.data());
+        assertEquals(1, first.data().getVersion());
+        verify(loaderMock, times(1)).get();
+        verify(changeFeedMock, never()).changesSince(any());
+        verify(schedulerMock, times(1)).schedule(any(Runnable.class), eq(REFRESH_INTERVAL.toMillis()), any());
+    }
+
+    @DisplayName("callers arriving during the initial load share it")
+    @Test
+    void getSharesInitialLoad() throws Exception {
+        CompletableFuture<Response<EmployeeLoad>> pending = new CompletableFuture<>();
+        when(loaderMock.get()).thenReturn(pending);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Response<EmployeeSnapshot>> first = callers.submit(snapshotCache::get);
+            Future<Response<EmployeeSnapshot>> second = callers.submit(snapshotCache::get);
+            verify(loaderMock, timeout(5000)).get();
+
+            pending.complete(loaded(employee).join());
+
+            assertSame(
+                    first.get(5, TimeUnit.SECONDS).data(),
+                    second.get(5, TimeUnit.SECONDS).data());
+            verify(loaderMock, times(1)).get();
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @DisplayName("failed initial load is not cached")
+    @Test
+    void getErrorNotCached() {
+        when(loaderMock.get()).thenReturn(error("429 Too Many Requests")).thenReturn(loaded(employee));
+
+        Response<EmployeeSnapshot> failed = snapshotCache.get();
+        Response<EmployeeSnapshot> loaded = snapshotCache.get();
+
+        assertEquals(Response.error("429 Too Many Requests"), failed);
+        assertEquals(List.of(employee), loaded.data().getEmployees());
+        verify(loaderMock, times(2)).get();
+    }
+
+    @DisplayName("refresh after a load without a change version publishes a full load")
+    @Test
+    void refreshPublishesNewVersion() {
+        when(loaderMock.get()).thenReturn(loaded(employee)).thenReturn(loaded(employee, employee2));
+        snapshotCache.get();
+
+        snapshotCache.refresh();
+
+        EmployeeSnapshot snapshot = snapshotCache.get().data();
+        assertEquals(2, snapshot.getVersion());
+        assertEquals(List.of(employee, employee2), snapshot.getEmployees());
+        verify(schedulerMock, times(2)).schedule(any(Runnable.class), eq(REFRESH_INTERVAL.toMillis()), any());
+    }
+
+    @DisplayName("failed refresh keeps serving the last good snapshot")
+    @Test
+    void refreshFailureKeepsSnapshot() {
+        when(loaderMock.get())
+                .thenReturn(loaded(employee))
+                .thenReturn(error("429 Too Many Requests"))
+                .thenThrow(new IllegalStateException("boom"));
+        EmployeeSnapshot loaded = snapshotCache.get().data();
+
+        snapshotCache.refresh();
+        snapshotCache.refresh();
+
+        assertSame(loaded, snapshotCache.get().data());
+        verify(schedulerMock, times(2))
+                .schedule(any(Runnable.class), eq(RETRY_INTERVAL.toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @DisplayName("writes are applied to the published snapshot as new versions")
+    @Test
+    void writesApplied() {
+        when(loaderMock.get()).thenReturn(loaded(employee));
+        snapshotCache.get();
+
+        snapshotCache.added(employee2);
+        EmployeeSnapshot added = snapshotCache.get().data();
+        snapshotCache.removed(employee);
+        EmployeeSnapshot removed = snapshotCache.get().data();
+
+        assertEquals(2, added.getVersion());
+        assertEquals(List.of(employee, employee2), added.getEmployees());
+        assertEquals(3, removed.getVersion());
+        assertEquals(List.of(employee2), removed.getEmployees());
+        assertTrue(removed.findById(employee.getId()).isEmpty());
+        verify(loaderMock, times(1)).get();
+    }
+
+    @DisplayName("writes made while a load is in flight survive its publication")
+    @Test
+    void writesReplayedOntoLoad() {
+        when(loaderMock.get()).thenReturn(loaded(employee));
+        snapshotCache.get();
+        when(loaderMock.get()).thenAnswer(invocation -> {
+            snapshotCache.added(employee2);
+            return loaded(employee);
+        });
+
+        snapshotCache.refresh();
+
+        assertEquals(List.of(employee, employee2), snapshotCache.get().data().getEmployees());
+
+        when(loaderMock.get()).thenReturn(loaded(employee));
+        snapshotCache.refresh();
+
+        assertEquals(List.of(employee), snapshotCache.get().data().getEmployees());
+    }
+
+    @DisplayName("peek never loads")
+    @Test
+    void peekDoesNotLoad() {
+        assertTrue(snapshotCache.peek().isEmpty());
+        verify(loaderMock, never()).get();
+        verify(schedulerMock, never()).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @DisplayName("cache on virtual threads loads on any runtime")
+    @Test
+    void virtualThreads() {
+        when(loaderMock.get()).thenReturn(loaded(employee));
+
+        try (EmployeeSnapshotCache virtual =
+                new EmployeeSnapshotCache(loaderMock, changeFeedMock, REFRESH_INTERVAL, RETRY_INTERVAL, true)) {
+            assertEquals(List.of(employee), virtual.get().data().getEmployees());
+        }
+    }
+
+    @DisplayName("refresh applies the changes since the loaded version instead of reloading")
+    @Test
+    void refreshCatchesUp() {
+        when(loaderMock.get()).thenReturn(loadedAt("a-1", employee));
+        when(changeFeedMock.changesSince("a-1"))
+                .thenReturn(changes(
+                        "a-3",
+                        false,
+                        new EmployeeChanges.Change(EmployeeChanges.Type.CREATED, employee2),
+                        new EmployeeChanges.Change(EmployeeChanges.Type.DELETED, employee)));
+        when(changeFeedMock.changesSince("a-3")).thenReturn(changes("a-3", false));
+        snapshotCache.get();
+
+        snapshotCache.refresh();
+        EmployeeSnapshot caughtUp = snapshotCache.get().data();
+        snapshotCache.refresh();
+
+        assertEquals(List.of(employee2), caughtUp.getEmployees());
+        assertEquals(2, caughtUp.getVersion());
+        assertSame(caughtUp, snapshotCache.get().data());
+        verify(loaderMock, times(1)).get();
+        verify(schedulerMock, times(3)).schedule(any(Runnable.class), eq(REFRESH_INTERVAL.toMillis()), any());
+    }
+
+    @DisplayName("a reset reloads the full list, a failed catch-up keeps the snapshot")
+    @Test
+    void refreshResetOrFailure() {
+        when(loaderMock.get()).thenReturn(loadedAt("a-1", employee)).thenReturn(loadedAt("b-0", employee2));
+        when(changeFeedMock.changesSince("a-1")).thenReturn(changes("b-0", true));
+        when(changeFeedMock.changesSince("b-0")).thenReturn(error("429 Too Many Requests"));
+        snapshotCache.get();
+
+        snapshotCache.refresh();
+        EmployeeSnapshot reloaded = snapshotCache.get().data();
+        snapshotCache.refresh();
+
+        assertEquals(List.of(employee2), reloaded.getEmployees());
+        assertSame(reloaded, snapshotCache.get().data());
+        verify(loaderMock, times(2)).get();
+        verify(schedulerMock, times(1))
+                .schedule(any(Runnable.class), eq(RETRY_INTERVAL.toMillis()), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @DisplayName("a delete made while changes are in flight survives them")
+    @Test
+    void writesReplayedOntoChanges() {
+        when(loaderMock.get()).thenReturn(loadedAt("a-1", employee));
+        when(changeFeedMock.changesSince("a-1")).thenAnswer(invocation -> {
+            snapshotCache.removed(employee2);
+            return changes("a-2", false, new EmployeeChanges.Change(EmployeeChanges.Type.CREATED, employee2));
+        });
+        snapshotCache.get();
+
+        snapshotCache.refresh();
+
+        assertEquals(List.of(employee), snapshotCache.get().data().getEmployees());
+    }
+
+    private static CompletableFuture<Response<EmployeeLoad>> loadedAt(String changeVersion, Employee... employees) {
+        return CompletableFuture.completedFuture(Response.handledWith(
+                new EmployeeLoad(EmployeeTable.of(EmployeeTable.Format.OBJECTS, List.of(employees)), changeVersion)));
+    }
+
+    private static CompletableFuture<Response<EmployeeChanges>> changes(
+            String version, boolean reset, EmployeeChanges.Change... changes) {
+        return CompletableFuture.completedFuture(
+                Response.handledWith(new EmployeeChanges(version, reset, List.of(changes))));
+    }
+
+    private static CompletableFuture<Response<EmployeeLoad>> loaded(Employee... employees) {
+        return loadedAt(null, employees);
+    }
+
+    private static <T> CompletableFuture<Response<T>> error(String error) {
+        return CompletableFuture.completedFuture(Response.error(error));
+    }
+}
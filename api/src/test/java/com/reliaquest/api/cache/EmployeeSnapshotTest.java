@@ -0,0 +1,138 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    private Employee lowell, terence;
+    private EmployeeSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        lowell = Employee.builder()
+                .id("d3e4d6e8-fb10-4350-a340-7f6f84574d50")
+                .name("Lowell Willms II")
+                .salary(58633)
+                .build();
+        terence = Employee.builder()
+                .id("f97290eb-82b6-4966-9ad5-1d475c63e858")
+                .name("Terence Considine")
+                .salary(346280)
+                .build();
+        snapshot = EmployeeSnapshot.of(1, Instant.EPOCH, List.of(lowell));
+    }
+
+    @DisplayName("withEmployee updates the list and every lookup")
+    @Test
+    void withEmployee() {
+        EmployeeSnapshot updated = snapshot.withEmployee(2, terence);
+
+        assertEquals(2, updated.getVersion());
+        assertEquals(List.of(lowell, terence), updated.getEmployees());
+        assertEquals(terence, updated.findById(terence.getId()).orElseThrow());
+        assertEquals(OptionalInt.of(346280), updated.highestSalary());
+        assertEquals(List.of(terence), updated.searchByName("Considine"));
+        assertSame(updated, updated.withEmployee(3, terence));
+        assertEquals(List.of(lowell), snapshot.getEmployees());
+    }
+
+    @DisplayName("withoutEmployee updates the list and every lookup")
+    @Test
+    void withoutEmployee() {
+        EmployeeSnapshot updated = snapshot.withEmployee(2, terence).withoutEmployee(3, terence);
+
+        assertEquals(3, updated.getVersion());
+        assertEquals(List.of(lowell), updated.getEmployees());
+        assertTrue(updated.findById(terence.getId()).isEmpty());
+        assertEquals(OptionalInt.of(58633), updated.highestSalary());
+        assertEquals(List.of(), updated.searchByName("Considine"));
+        assertSame(updated, updated.withoutEmployee(4, terence));
+    }
+
+    @DisplayName("writes leave the table untouched until the overlay is folded")
+    @Test
+    void overlay() {
+        EmployeeSnapshot updated = snapshot.withoutEmployee(2, lowell).withEmployee(3, terence);
+
+        assertEquals(List.of(terence), updated.getEmployees());
+        assertEquals(List.of(terence), updated.topEarners(10));
+        assertTrue(updated.searchByName("Lowell").isEmpty());
+        assertEquals(
+                lowell, updated.withEmployee(4, lowell).findById(lowell.getId()).orElseThrow());
+        assertEquals(List.of(lowell), snapshot.getEmployees());
+        assertSame(updated.getEmployees(), updated.getEmployees());
+    }
+
+    @DisplayName("random writes across several folds agree with a plain list")
+    @Test
+    void writesAcrossFolds() {
+        Random random = new Random(42);
+        List<Employee> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(employee(i, random));
+        }
+        EmployeeSnapshot updated = EmployeeSnapshot.of(1, Instant.EPOCH, expected);
+        expected = new ArrayList<>(expected);
+
+        for (int i = 0; i < 1000; i++) {
+            if (random.nextBoolean() && !expected.isEmpty()) {
+                Employee removed = expected.remove(random.nextInt(expected.size()));
+                updated = updated.withoutEmployee(i + 2, removed);
+            } else {
+                Employee added = employee(1000 + i, random);
+                expected.add(added);
+                updated = updated.withEmployee(i + 2, added);
+            }
+
+            if (i % 97 == 0) {
+                assertAgrees(expected, updated);
+            }
+        }
+        assertAgrees(expected, updated);
+    }
+
+    private static void assertAgrees(List<Employee> expected, EmployeeSnapshot snapshot) {
+        assertEquals(expected, snapshot.getEmployees());
+        assertEquals(expected.size(), snapshot.size());
+        List<Employee> bySalary = expected.stream()
+                .filter(employee -> employee.getSalary() != null)
+                .sorted(Comparator.comparing(Employee::getSalary, Comparator.reverseOrder()))
+                .toList();
+        assertEquals(bySalary.subList(0, Math.min(10, bySalary.size())), snapshot.topEarners(10));
+        assertEquals(
+                bySalary.isEmpty()
+                        ? OptionalInt.empty()
+                        : OptionalInt.of(bySalary.get(0).getSalary()),
+                snapshot.highestSalary());
+        for (String fragment : List.of("e 1", "7", "Employee 12")) {
+            assertEquals(
+                    expected.stream()
+                            .filter(employee -> employee.getName().contains(fragment))
+                            .toList(),
+                    snapshot.searchByName(fragment),
+                    fragment);
+        }
+        for (Employee employee : expected) {
+            assertEquals(employee, snapshot.findById(employee.getId()).orElseThrow());
+        }
+    }
+
+    private static Employee employee(int i, Random random) {
+        return Employee.builder()
+                .id(String.valueOf(i))
+                .name("Employee " + i)
+                .salary(i % 11 == 0 ? null : random.nextInt(1000))
+                .build();
+    }
+}
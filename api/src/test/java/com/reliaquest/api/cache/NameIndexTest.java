@@ -0,0 +1,81 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private Employee lowell, terence, tiger, nameless;
+    private NameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lowell = Employee.builder().id("1").name("Lowell Willms II").build();
+        terence = Employee.builder().id("2").name("Terence Considine").build();
+        tiger = Employee.builder().id("3").name("Tiger Nixon").build();
+        nameless = Employee.builder().id("4").build();
+        index = index(List.of(lowell, terence, tiger, nameless));
+    }
+
+    @DisplayName("search matches substrings in original order")
+    @Test
+    void search() {
+        assertEquals(List.of(lowell), index.search("Lowell"));
+        assertEquals(List.of(terence), index.search("ence Con"));
+        assertEquals(List.of(tiger), index.search("ix"));
+        assertEquals(List.of(lowell, terence, tiger), index.search("i"));
+        assertEquals(List.of(lowell, terence, tiger), index.search(""));
+        assertEquals(List.of(), index.search("lowell"));
+        assertEquals(List.of(), index.search("Nobody"));
+    }
+
+    @DisplayName("search verifies candidates that share every trigram but not the fragment")
+    @Test
+    void searchVerifiesCandidates() {
+        Employee anna = Employee.builder().id("5").name("annaXnna").build();
+        NameIndex annaIndex = index(List.of(anna));
+
+        assertEquals(List.of(), annaIndex.search("annna"));
+        assertEquals(List.of(anna), annaIndex.search("nna"));
+    }
+
+    @DisplayName("search agrees with a scan over a larger list")
+    @Test
+    void searchMatchesScan() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(Employee.builder()
+                    .id(String.valueOf(i))
+                    .name("Employee " + Integer.toString(i * 7919, 36))
+                    .build());
+        }
+        NameIndex largeIndex = index(employees);
+
+        for (String fragment : List.of("Emp", "ee 1", "loyee 2a", "zz", "9")) {
+            List<Employee> expected = employees.stream()
+                    .filter(employee -> employee.getName().contains(fragment))
+                    .toList();
+            assertEquals(expected, largeIndex.search(fragment), fragment);
+        }
+    }
+
+    @DisplayName("searchRows returns ascending rows without materializing employees")
+    @Test
+    void searchRows() {
+        assertArrayEquals(new int[] {0}, index.searchRows("Lowell"));
+        assertArrayEquals(new int[] {1, 2}, index.searchRows("T"));
+        assertArrayEquals(new int[0], index.searchRows("Nobody"));
+    }
+
+    private static NameIndex index(List<Employee> employees) {
+        EmployeeTable table = EmployeeTable.of(EmployeeTable.Format.OBJECTS, employees);
+        return NameIndex.of(table, IntStream.range(0, table.size()).toArray());
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    private Employee alice, bob, charlie, dave, unpaid;
+
+    @BeforeEach
+    void setUp() {
+        alice = Employee.builder().id("1").name("Alice").salary(50000).build();
+        bob = Employee.builder().id("2").name("Bob").salary(Integer.MAX_VALUE).build();
+        charlie = Employee.builder().id("3").name("Charlie").salary(50000).build();
+        dave = Employee.builder().id("4").name("Dave").salary(1).build();
+        unpaid = Employee.builder().id("5").name("Unpaid").build();
+    }
+
+    @DisplayName("ranks by descending salary without overflow, keeping ties in order")
+    @Test
+    void of() {
+        SalaryIndex index = index(List.of(alice, bob, unpaid, charlie, dave));
+
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), index.highestSalary());
+        assertEquals(List.of(bob, alice, charlie, dave), index.top(10));
+        assertEquals(List.of(bob, alice), index.top(2));
+        assertEquals(4, index.size());
+    }
+
+    @DisplayName("ranks negative and minimum salaries last")
+    @Test
+    void ofNegative() {
+        Employee owing = Employee.builder().id("6").name("Owing").salary(-5).build();
+        Employee minimum = Employee.builder()
+                .id("7")
+                .name("Minimum")
+                .salary(Integer.MIN_VALUE)
+                .build();
+
+        SalaryIndex index = index(List.of(minimum, dave, owing));
+
+        assertEquals(List.of(dave, owing, minimum), index.top(10));
+    }
+
+    @DisplayName("empty index has no highest salary")
+    @Test
+    void empty() {
+        SalaryIndex index = index(List.of(unpaid));
+
+        assertTrue(index.highestSalary().isEmpty());
+        assertEquals(List.of(), index.top(10));
+    }
+
+    @DisplayName("rowAt and salaryAt walk the ranking highest first")
+    @Test
+    void ranking() {
+        SalaryIndex index = index(List.of(alice, bob, charlie, dave, unpaid));
+
+        assertEquals(1, index.rowAt(0));
+        assertEquals(bob.getSalary(), index.salaryAt(0));
+        assertEquals(3, index.rowAt(index.size() - 1));
+        assertEquals(dave.getSalary(), index.salaryAt(index.size() - 1));
+    }
+
+    private static SalaryIndex index(List<Employee> employees) {
+        EmployeeTable table = EmployeeTable.of(EmployeeTable.Format.OBJECTS, employees);
+        return SalaryIndex.of(table, IntStream.range(0, table.size()).toArray());
+    }
+}
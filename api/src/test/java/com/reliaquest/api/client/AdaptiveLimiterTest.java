@@ -0,0 +1,90 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveLimiterTest {
+
+    @DisplayName("calls beyond the limit are rejected until one is released")
+    @Test
+    void rejectsBeyondLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(2, 1, 10, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.onIgnore();
+
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1L, limiter.getStats().get("concurrencyRejected"));
+        assertEquals(2, limiter.getStats().get("concurrencyInFlight"));
+    }
+
+    @DisplayName("limit keeps growing over rounds of successful calls, up to the maximum")
+    @Test
+    void additiveIncrease() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(4, 1, 10, 0.5);
+
+        for (int round = 0; round < 6; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.onSuccess();
+            }
+        }
+
+        assertEquals(7, limiter.getLimit());
+
+        for (int round = 0; round < 100; round++) {
+            int limit = limiter.getLimit();
+            for (int i = 0; i < limit; i++) {
+                limiter.tryAcquire();
+            }
+            for (int i = 0; i < limit; i++) {
+                limiter.onSuccess();
+            }
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @DisplayName("limit does not grow while it is mostly unused")
+    @Test
+    void idleDoesNotGrow() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 1, 10, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess();
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @DisplayName("dropped calls halve the limit down to the minimum")
+    @Test
+    void multiplicativeDecrease() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(8, 3, 10, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(4, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertEquals(3, limiter.getLimit());
+        assertEquals(2L, limiter.getStats().get("concurrencyDropped"));
+        assertEquals(0, limiter.getStats().get("concurrencyInFlight"));
+    }
+
+    @DisplayName("inconsistent limits are refused")
+    @Test
+    void invalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimiter(0, 0, 10, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimiter(20, 1, 10, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimiter(5, 1, 10, 1));
+    }
+}
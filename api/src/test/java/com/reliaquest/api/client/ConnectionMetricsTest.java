@@ -0,0 +1,66 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Map;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConnectionMetricsTest {
+
+    private ConnectionMetrics connectionMetrics;
+    private Call call;
+    private Connection connection;
+    private InetSocketAddress address;
+
+    @BeforeEach
+    void setUp() {
+        connectionMetrics = new ConnectionMetrics();
+        call = mock(Call.class);
+        connection = mock(Connection.class);
+        address = InetSocketAddress.createUnresolved("localhost", 8112);
+    }
+
+    @DisplayName("calls that acquire a connection without opening one count as reused")
+    @Test
+    void reused() {
+        connectionMetrics.callStart(call);
+        connectionMetrics.connectEnd(call, address, Proxy.NO_PROXY, Protocol.H2_PRIOR_KNOWLEDGE);
+        connectionMetrics.connectionAcquired(call, connection);
+        for (int i = 0; i < 3; i++) {
+            connectionMetrics.callStart(call);
+            connectionMetrics.connectionAcquired(call, connection);
+        }
+
+        Map<String, Object> stats = connectionMetrics.getStats();
+
+        assertEquals(4L, stats.get("calls"));
+        assertEquals(1L, stats.get("connectionsOpened"));
+        assertEquals(1L, stats.get("connectionsMultiplexed"));
+        assertEquals(3L, stats.get("connectionsReused"));
+    }
+
+    @DisplayName("failed calls and connects are counted separately")
+    @Test
+    void failures() {
+        IOException refused = new IOException("Connection refused");
+        connectionMetrics.callStart(call);
+        connectionMetrics.connectFailed(call, address, Proxy.NO_PROXY, null, refused);
+        connectionMetrics.callFailed(call, refused);
+
+        Map<String, Object> stats = connectionMetrics.getStats();
+
+        assertEquals(1L, stats.get("callsFailed"));
+        assertEquals(1L, stats.get("connectionsFailed"));
+        assertEquals(0L, stats.get("connectionsOpened"));
+        assertEquals(0L, stats.get("connectionsReused"));
+    }
+}
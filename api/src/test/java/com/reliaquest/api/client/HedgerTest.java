@@ -0,0 +1,138 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HedgerTest {
+
+    private ScheduledExecutorService schedulerMock;
+    private RetryBudget budget;
+    private Hedger hedger;
+    private Runnable timer;
+    private Deque<CompletableFuture<Response>> attempts;
+
+    @BeforeEach
+    void setUp() {
+        schedulerMock = mock(ScheduledExecutorService.class);
+        budget = new RetryBudget(0.2, 10);
+        doAnswer(invocation -> {
+                    timer = invocation.getArgument(0);
+                    return mock(ScheduledFuture.class);
+                })
+                .when(schedulerMock)
+                .schedule(any(Runnable.class), anyLong(), any());
+        hedger = new Hedger(0.95, Duration.ofMillis(200), Duration.ofMillis(20), budget, schedulerMock);
+        attempts = new ArrayDeque<>();
+    }
+
+    @DisplayName("a call that answers in time is not hedged")
+    @Test
+    void fastCallNotHedged() {
+        CompletableFuture<Response> result = hedger.call(this::attempt);
+        Response ok = response(200);
+        attempts.getFirst().complete(ok);
+
+        assertSame(ok, result.join());
+        assertEquals(1, attempts.size());
+        assertEquals(0L, hedger.getStats().get("hedgesSent"));
+    }
+
+    @DisplayName("a slow call is hedged, the hedge wins and the slow call is cancelled")
+    @Test
+    void hedgeWins() {
+        CompletableFuture<Response> result = hedger.call(this::attempt);
+        timer.run();
+        Response ok = response(200);
+        attempts.getLast().complete(ok);
+
+        assertSame(ok, result.join());
+        assertEquals(2, attempts.size());
+        assertTrue(attempts.getFirst().isCancelled());
+        assertEquals(1L, hedger.getStats().get("hedgesWon"));
+        assertEquals(9, budget.available(), "the hedge took a token from the retry budget");
+    }
+
+    @DisplayName("a throttled attempt does not win while another is still pending")
+    @Test
+    void unusableAttemptWaitsForOther() {
+        CompletableFuture<Response> result = hedger.call(this::attempt);
+        timer.run();
+        attempts.getFirst().complete(response(429));
+        assertFalse(result.isDone());
+
+        Response ok = response(200);
+        attempts.getLast().complete(ok);
+        assertSame(ok, result.join());
+    }
+
+    @DisplayName("no hedge is sent once retries have used up the retry budget")
+    @Test
+    void overBudget() {
+        while (budget.tryWithdraw()) {
+            // spent on retries
+        }
+
+        CompletableFuture<Response> result = hedger.call(this::attempt);
+        timer.run();
+        attempts.getFirst().complete(response(500));
+
+        assertEquals(500, result.join().code());
+        assertEquals(1, attempts.size());
+        assertEquals(1L, hedger.getStats().get("hedgesOverBudget"));
+    }
+
+    @DisplayName("the delay follows the latency percentile once enough calls were seen")
+    @Test
+    void delayFromPercentile() {
+        assertEquals(Duration.ofMillis(200), hedger.delay());
+
+        for (int i = 0; i < 20; i++) {
+            hedger.call(this::attempt);
+            attempts.getLast().complete(response(200));
+        }
+
+        assertTrue(hedger.delay().compareTo(Duration.ofMillis(20)) >= 0);
+        assertTrue(hedger.delay().compareTo(Duration.ofMillis(200)) < 0);
+    }
+
+    @DisplayName("a disabled hedger runs the call once")
+    @Test
+    void disabled() {
+        CompletableFuture<Response> attempt = new CompletableFuture<>();
+
+        assertSame(attempt, Hedger.disabled().call(() -> attempt));
+    }
+
+    private CompletableFuture<Response> attempt() {
+        CompletableFuture<Response> attempt = new CompletableFuture<>();
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    private static Response response(int code) {
+        return new Response.Builder()
+                .request(
+                        new Request.Builder().url("http://localhost/employee/1").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create("", null))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    @DisplayName("starts full and refuses retries once spent")
+    @Test
+    void startsFull() {
+        RetryBudget budget = new RetryBudget(0.2, 2);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        assertEquals(0, budget.available());
+    }
+
+    @DisplayName("earns one retry per 1/ratio calls, up to the maximum balance")
+    @Test
+    void deposits() {
+        RetryBudget budget = new RetryBudget(0.2, 2);
+        budget.tryWithdraw();
+        budget.tryWithdraw();
+
+        for (int i = 0; i < 4; i++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+        assertEquals(2, budget.available());
+    }
+}
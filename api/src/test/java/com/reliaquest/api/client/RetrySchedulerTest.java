@@ -0,0 +1,112 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RetrySchedulerTest {
+
+    private static final Duration BASE_DELAY = Duration.ofMillis(100);
+    private static final Duration MAX_DELAY = Duration.ofSeconds(5);
+    private static final Duration DEADLINE = Duration.ofSeconds(30);
+
+    private ScheduledExecutorService schedulerMock;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        schedulerMock = mock(ScheduledExecutorService.class);
+        clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @DisplayName("backoff doubles per attempt and is scaled by jitter")
+    @Test
+    void exponentialBackoff() {
+        RetryScheduler retryScheduler = retryScheduler(5, new RetryBudget(0.2, 10), 0.5);
+
+        assertEquals(Optional.of(Duration.ofMillis(50)), retryScheduler.retryDelay(1, null, Duration.ZERO));
+        assertEquals(Optional.of(Duration.ofMillis(100)), retryScheduler.retryDelay(2, null, Duration.ZERO));
+        assertEquals(Optional.of(Duration.ofMillis(200)), retryScheduler.retryDelay(3, null, Duration.ZERO));
+        assertEquals(3L, retryScheduler.getStats().get("retries"));
+    }
+
+    @DisplayName("Retry-After in seconds or as an HTTP date is waited for on top of the backoff")
+    @Test
+    void retryAfter() {
+        RetryScheduler retryScheduler = retryScheduler(5, new RetryBudget(0.2, 10), 0.5);
+
+        assertEquals(Optional.of(Duration.ofMillis(2050)), retryScheduler.retryDelay(1, "2", Duration.ZERO));
+        assertEquals(
+                Optional.of(Duration.ofMillis(3050)),
+                retryScheduler.retryDelay(1, "Mon, 01 Jan 2024 00:00:03 GMT", Duration.ZERO));
+        assertEquals(Optional.of(Duration.ofMillis(50)), retryScheduler.retryDelay(1, "soon", Duration.ZERO));
+    }
+
+    @DisplayName("no retry past the last attempt, the maximum delay or the budget")
+    @Test
+    void refusals() {
+        RetryScheduler retryScheduler = retryScheduler(3, new RetryBudget(0.2, 1), 0.5);
+
+        assertEquals(Optional.empty(), retryScheduler.retryDelay(3, null, Duration.ZERO));
+        assertEquals(Optional.empty(), retryScheduler.retryDelay(1, "60", Duration.ZERO));
+        assertTrue(retryScheduler.retryDelay(1, null, Duration.ZERO).isPresent());
+        assertEquals(Optional.empty(), retryScheduler.retryDelay(1, null, Duration.ZERO));
+
+        assertEquals(1L, retryScheduler.getStats().get("retriesExhausted"));
+        assertEquals(1L, retryScheduler.getStats().get("retriesTooLong"));
+        assertEquals(1L, retryScheduler.getStats().get("retriesOverBudget"));
+        assertEquals(0L, retryScheduler.getStats().get("retryBudgetAvailable"));
+    }
+
+    @DisplayName("no retry starts after the deadline, however long the maximum delay")
+    @Test
+    void deadline() {
+        RetryScheduler retryScheduler = new RetryScheduler(
+                3,
+                BASE_DELAY,
+                Duration.ofMinutes(2),
+                DEADLINE,
+                new RetryBudget(0.2, 10),
+                schedulerMock,
+                clock,
+                () -> 0.5);
+
+        assertEquals(Optional.empty(), retryScheduler.retryDelay(1, "90", Duration.ZERO));
+        assertEquals(Optional.of(Duration.ofMillis(20050)), retryScheduler.retryDelay(1, "20", Duration.ofSeconds(9)));
+        assertEquals(Optional.empty(), retryScheduler.retryDelay(2, "20", Duration.ofSeconds(10)));
+        assertEquals(2L, retryScheduler.getStats().get("retriesTooLong"));
+        assertEquals(1L, retryScheduler.getStats().get("retries"));
+    }
+
+    @DisplayName("retries run on the scheduler after the delay, and can be cancelled until then")
+    @Test
+    void schedule() {
+        RetryScheduler retryScheduler = retryScheduler(3, new RetryBudget(0.2, 1), 0.5);
+        Runnable retry = () -> {};
+        ScheduledFuture<?> pending = mock(ScheduledFuture.class);
+        doReturn(pending).when(schedulerMock).schedule(eq(retry), eq(250L), eq(TimeUnit.MILLISECONDS));
+
+        assertSame(pending, retryScheduler.schedule(retry, Duration.ofMillis(250)));
+
+        verify(schedulerMock).schedule(eq(retry), eq(250L), eq(TimeUnit.MILLISECONDS));
+        verify(schedulerMock, never()).execute(any());
+    }
+
+    private RetryScheduler retryScheduler(int maxAttempts, RetryBudget budget, double jitter) {
+        return new RetryScheduler(
+                maxAttempts, BASE_DELAY, MAX_DELAY, DEADLINE, budget, schedulerMock, clock, () -> jitter);
+    }
+}
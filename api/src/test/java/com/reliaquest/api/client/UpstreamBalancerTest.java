@@ -0,0 +1,132 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class UpstreamBalancerTest {
+
+    private static final String FIRST = "http://localhost:8112/api/v1";
+    private static final String SECOND = "http://localhost:8113/api/v1";
+
+    private long now;
+    private UpstreamBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        balancer = new UpstreamBalancer(
+                List.of(FIRST, SECOND), 2, Duration.ofSeconds(10), Duration.ofSeconds(60), () -> now, bound -> 0);
+    }
+
+    @DisplayName("the instance with fewer outstanding calls is chosen")
+    @Test
+    void leastOutstanding() {
+        UpstreamBalancer.Upstream busy = balancer.choose();
+        busy.onStart();
+
+        UpstreamBalancer.Upstream next = balancer.choose();
+        assertNotSame(busy, next);
+        next.onStart();
+        next.onStart();
+
+        assertSame(busy, balancer.choose());
+    }
+
+    @DisplayName("the instance with the lower latency is chosen when both are idle")
+    @Test
+    void lowerLatency() {
+        UpstreamBalancer.Upstream first = balancer.choose();
+        first.onStart();
+        UpstreamBalancer.Upstream second = balancer.choose();
+        second.onStart();
+        first.onSuccess(Duration.ofMillis(80).toNanos());
+        second.onSuccess(Duration.ofMillis(20).toNanos());
+
+        assertSame(second, balancer.choose());
+        assertEquals(SECOND, second.baseUrl());
+    }
+
+    @DisplayName("a throttled instance is ejected until its Retry-After has passed")
+    @Test
+    void ejectOnThrottle() {
+        UpstreamBalancer.Upstream throttled = balancer.choose();
+        throttled.onStart();
+        throttled.onThrottled(Duration.ofSeconds(30));
+
+        assertEquals(1, balancer.available());
+        for (int i = 0; i < 5; i++) {
+            assertNotSame(throttled, balancer.choose());
+        }
+
+        now = Duration.ofSeconds(30).toNanos();
+        assertEquals(2, balancer.available());
+    }
+
+    @DisplayName("consecutive failures eject an instance for longer each time, up to the maximum")
+    @Test
+    void ejectOnFailures() {
+        UpstreamBalancer.Upstream failing = balancer.choose();
+        failing.onStart();
+        failing.onFailure();
+        assertEquals(2, balancer.available());
+
+        for (int ejection = 0; ejection < 4; ejection++) {
+            failing.onStart();
+            failing.onFailure();
+            failing.onStart();
+            failing.onFailure();
+        }
+
+        now = Duration.ofSeconds(59).toNanos();
+        assertEquals(1, balancer.available());
+        now = Duration.ofSeconds(60).toNanos();
+        assertEquals(2, balancer.available());
+        assertEquals(4L, balancer.getStats().get(0).get("ejections"));
+    }
+
+    @DisplayName("when every instance is ejected, the one that comes back first is chosen")
+    @Test
+    void allEjected() {
+        UpstreamBalancer.Upstream first = balancer.choose();
+        first.onStart();
+        first.onThrottled(Duration.ofSeconds(40));
+        UpstreamBalancer.Upstream second = balancer.choose();
+        second.onStart();
+        second.onThrottled(null);
+
+        assertEquals(0, balancer.available());
+        assertSame(second, balancer.choose());
+    }
+
+    @DisplayName("a single instance is never a failover target for itself, even when throttled without a wait")
+    @Test
+    void singleInstance() {
+        UpstreamBalancer single = new UpstreamBalancer(
+                List.of(FIRST), 2, Duration.ofSeconds(10), Duration.ofSeconds(60), () -> now, bound -> 0);
+        UpstreamBalancer.Upstream only = single.choose();
+        only.onStart();
+        only.onThrottled(Duration.ZERO);
+
+        assertEquals(1, single.available());
+        assertEquals(0, single.availableExcept(only));
+    }
+
+    @DisplayName("the other instance is a failover target until it is ejected as well")
+    @Test
+    void availableExcept() {
+        UpstreamBalancer.Upstream first = balancer.choose();
+        first.onStart();
+        first.onThrottled(Duration.ofSeconds(30));
+        assertEquals(1, balancer.availableExcept(first));
+
+        UpstreamBalancer.Upstream second = balancer.choose();
+        second.onStart();
+        second.onThrottled(Duration.ofSeconds(30));
+        assertEquals(0, balancer.availableExcept(first));
+    }
+}
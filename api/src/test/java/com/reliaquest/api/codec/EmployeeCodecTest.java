@@ -0,0 +1,107 @@
+package com.reliaquest.api.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.common.EmployeeDeleteRequest;
+import com.reliaquest.api.common.EmployeeRequest;
+import com.reliaquest.api.common.Response;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EmployeeCodec codec = new EmployeeCodec(objectMapper);
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = Employee.builder()
+                .id("d3e4d6e8-fb10-4350-a340-7f6f84574d50")
+                .name("Lowell Willms II")
+                .salary(58633)
+                .age(68)
+                .title("Community-Services Manager")
+                .email("zaam-dox@company.com")
+                .build();
+    }
+
+    @DisplayName("decodes a single-employee envelope, ignoring unknown fields and statuses")
+    @Test
+    void decodeEmployee() throws IOException {
+        String json = "{\"data\":" + objectMapper.writeValueAsString(employee)
+                + ",\"status\":\"Something new\",\"trace\":{\"id\":1}}";
+
+        Response<Employee> decoded = codec.decodeEmployee(stream(json), null);
+
+        assertEquals(employee, decoded.data());
+        assertNull(decoded.status());
+        assertEquals(
+                Response.handledWith(employee),
+                codec.decodeEmployee(stream(objectMapper.writeValueAsString(Response.handledWith(employee))), null));
+    }
+
+    @DisplayName("rejects a list where a single employee is expected")
+    @Test
+    void decodeEmployeeArray() {
+        assertThrows(IOException.class, () -> codec.decodeEmployee(stream("{\"data\":[]}"), null));
+        assertThrows(IOException.class, () -> codec.decodeEmployee(stream("bad string"), null));
+    }
+
+    @DisplayName("decodes Smile responses by their content type and anything else as JSON")
+    @Test
+    void decodeSmile() throws IOException {
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        byte[] single = smileMapper.writeValueAsBytes(Response.handledWith(employee));
+        byte[] list = smileMapper.writeValueAsBytes(Response.handledWith(List.of(employee, employee)));
+
+        assertEquals(
+                employee,
+                codec.decodeEmployee(new ByteArrayInputStream(single), "application/x-jackson-smile")
+                        .data());
+        EmployeeTable table = codec.decodeEmployees(
+                new ByteArrayInputStream(list), EmployeeTable.Format.COLUMNAR, "application/x-jackson-smile", null);
+        assertEquals(2, table.size());
+        assertEquals(employee, table.employee(1));
+        assertEquals(
+                employee,
+                codec.decodeEmployee(
+                                stream(objectMapper.writeValueAsString(Response.handledWith(employee))),
+                                "application/json;charset=UTF-8")
+                        .data());
+        assertThrows(
+                IOException.class, () -> codec.decodeEmployee(new ByteArrayInputStream(single), "not a media type"));
+    }
+
+    @DisplayName("encodes requests as the employee service expects them")
+    @Test
+    void encode() throws IOException {
+        EmployeeRequest employeeRequest = codec.toEmployeeRequest(
+                Map.of("name", "Jill Jenkins", "salary", 139082, "age", 48, "title", "Financial Advisor"));
+
+        assertEquals("Jill Jenkins", employeeRequest.getName());
+        assertSame(employeeRequest, codec.toEmployeeRequest(employeeRequest));
+        assertEquals(
+                objectMapper.readTree(objectMapper.writeValueAsBytes(employeeRequest)),
+                objectMapper.readTree(codec.encode(employeeRequest)));
+        assertEquals(
+                "{\"name\":\"Jill Jenkins\"}",
+                new String(codec.encode(new EmployeeDeleteRequest("Jill Jenkins")), StandardCharsets.UTF_8));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.api.codec;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeListDecoderTest {
+
+    private final EmployeeListDecoder decoder = new EmployeeListDecoder(new ObjectMapper());
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = Employee.builder()
+                .id("d3e4d6e8-fb10-4350-a340-7f6f84574d50")
+                .name("Lowell Willms II")
+                .salary(58633)
+                .age(68)
+                .title("Community-Services Manager")
+                .email("zaam-dox@company.com")
+                .build();
+    }
+
+    @DisplayName("decodes data in order, skipping nulls, unknown fields and the rest of the envelope")
+    @Test
+    void decode() throws IOException {
+        String json = "{\"status\":\"Successfully processed request.\",\"extra\":{\"data\":[1]},\"data\":["
+                + "{\"id\":\"d3e4d6e8-fb10-4350-a340-7f6f84574d50\",\"employee_name\":\"Lowell Willms II\","
+                + "\"employee_salary\":58633,\"employee_age\":68,\"employee_unknown\":[{}],"
+                + "\"employee_title\":\"Community-Services Manager\",\"employee_email\":\"zaam-dox@company.com\"},"
+                + "null,{\"id\":\"2\"}],\"error\":null}";
+
+        for (EmployeeTable.Format format : EmployeeTable.Format.values()) {
+            EmployeeTable table = decoder.decode(stream(json), format);
+
+            assertEquals(2, table.size(), format.name());
+            assertEquals(employee, table.employee(0), format.name());
+            assertEquals(Employee.builder().id("2").build(), table.employee(1), format.name());
+        }
+    }
+
+    @DisplayName("missing or null data decodes to an empty table")
+    @Test
+    void decodeEmpty() throws IOException {
+        assertEquals(
+                0,
+                decoder.decode(stream("{\"data\":null}"), EmployeeTable.Format.OBJECTS)
+                        .size());
+        assertEquals(
+                0,
+                decoder.decode(stream("{\"error\":\"x\"}"), EmployeeTable.Format.COLUMNAR)
+                        .size());
+        assertEquals(
+                0,
+                decoder.decode(stream("{\"data\":[]}"), EmployeeTable.Format.OBJECTS)
+                        .size());
+    }
+
+    @DisplayName("decodes lists larger than the initial capacity")
+    @Test
+    void decodeLarge() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            employees.add(employee.toBuilder().id(String.valueOf(i)).salary(i).build());
+        }
+        String json = new ObjectMapper().writeValueAsString(Map.of("data", employees));
+
+        EmployeeTable table = decoder.decode(stream(json), EmployeeTable.Format.COLUMNAR);
+
+        assertEquals(3000, table.size());
+        assertEquals(employees.get(2999), table.employee(2999));
+    }
+
+    @DisplayName("malformed or truncated input fails")
+    @Test
+    void decodeMalformed() {
+        assertThrows(IOException.class, () -> decoder.decode(stream("bad string"), EmployeeTable.Format.OBJECTS));
+        assertThrows(IOException.class, () -> decoder.decode(stream("[]"), EmployeeTable.Format.OBJECTS));
+        assertThrows(IOException.class, () -> decoder.decode(stream("{\"data\":{}}"), EmployeeTable.Format.OBJECTS));
+        assertThrows(IOException.class, () -> decoder.decode(stream("{\"data\":[1]}"), EmployeeTable.Format.OBJECTS));
+        assertThrows(
+                IOException.class,
+                () -> decoder.decode(stream("{\"data\":[{\"id\":\"1\"}"), EmployeeTable.Format.OBJECTS));
+    }
+
+    @DisplayName("decodes NDJSON one employee per line, skipping null lines and blank space")
+    @Test
+    void decodeLines() throws IOException {
+        String ndjson = new ObjectMapper().writeValueAsString(employee) + "\nnull\n\n{\"id\":\"2\"}\n";
+
+        for (EmployeeTable.Format format : EmployeeTable.Format.values()) {
+            EmployeeTable table = decoder.decodeLines(stream(ndjson), format, null);
+
+            assertEquals(2, table.size(), format.name());
+            assertEquals(employee, table.employee(0), format.name());
+            assertEquals(Employee.builder().id("2").build(), table.employee(1), format.name());
+        }
+        assertEquals(
+                0,
+                decoder.decodeLines(stream(""), EmployeeTable.Format.OBJECTS, null)
+                        .size());
+    }
+
+    @DisplayName("NDJSON that is malformed or ends midway fails")
+    @Test
+    void decodeLinesMalformed() {
+        assertThrows(IOException.class, () -> decoder.decodeLines(stream("[]\n"), EmployeeTable.Format.OBJECTS, null));
+        assertThrows(
+                IOException.class,
+                () -> decoder.decodeLines(stream("{\"id\":\"1\"}\n1\n"), EmployeeTable.Format.OBJECTS, null));
+        assertThrows(
+                IOException.class,
+                () -> decoder.decodeLines(stream("{\"id\":\"1\"}\n{\"id\":"), EmployeeTable.Format.OBJECTS, null));
+    }
+
+    @DisplayName("NDJSON is checked against the announced count, which catches a body cut off at a line boundary")
+    @Test
+    void decodeLinesCount() throws IOException {
+        String ndjson = "{\"id\":\"1\"}\n{\"id\":\"2\"}\n";
+
+        assertEquals(
+                2,
+                decoder.decodeLines(stream(ndjson), EmployeeTable.Format.OBJECTS, 2)
+                        .size());
+        assertEquals(
+                2,
+                decoder.decodeLines(stream(ndjson), EmployeeTable.Format.OBJECTS, null)
+                        .size());
+        IOException truncated = assertThrows(
+                IOException.class, () -> decoder.decodeLines(stream(ndjson), EmployeeTable.Format.COLUMNAR, 3));
+        assertEquals("Employee list holds 2 employees, expected 3", truncated.getMessage());
+        assertThrows(IOException.class, () -> decoder.decodeLines(stream(""), EmployeeTable.Format.OBJECTS, 1));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
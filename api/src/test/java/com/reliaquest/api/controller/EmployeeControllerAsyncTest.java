@@ -0,0 +1,96 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.api.common.Response;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class EmployeeControllerAsyncTest {
+
+    private static final String SEARCH_ID = "d3e4d6e8-fb10-4350-a340-7f6f84574d50";
+
+    private EmployeeService employeeServiceMock;
+    private MockMvc mockMvc;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeServiceMock = mock(EmployeeService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeServiceMock))
+                .setCustomReturnValueHandlers(new PendingResponseEntityReturnValueHandler())
+                .build();
+        employee = Employee.builder().id(SEARCH_ID).name("Lowell Willms II").build();
+    }
+
+    @DisplayName("pending upstream call releases the request thread and is written on completion")
+    @Test
+    void getEmployeeByIdPending() throws Exception {
+        CompletableFuture<Response<Employee>> pending = new CompletableFuture<>();
+        when(employeeServiceMock.getEmployeeById(SEARCH_ID)).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(get("/employee/" + SEARCH_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.complete(Response.handledWith(employee));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employee_name").value("Lowell Willms II"));
+    }
+
+    @DisplayName("completed result is written without async processing")
+    @Test
+    void getEmployeeByIdCompleted() throws Exception {
+        when(employeeServiceMock.getEmployeeById(SEARCH_ID))
+                .thenReturn(CompletableFuture.completedFuture(Response.handledWith(employee)));
+
+        mockMvc.perform(get("/employee/" + SEARCH_ID))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(SEARCH_ID));
+    }
+
+    @DisplayName("pending failure is handled like a synchronous one")
+    @Test
+    void getEmployeeByIdPendingFailure() throws Exception {
+        CompletableFuture<Response<Employee>> pending = new CompletableFuture<>();
+        when(employeeServiceMock.getEmployeeById(SEARCH_ID)).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(get("/employee/" + SEARCH_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.completeExceptionally(new IllegalStateException("boom"));
+
+        assertInstanceOf(IllegalStateException.class, result.getAsyncResult());
+    }
+
+    @DisplayName("pending delete is written on completion")
+    @Test
+    void deleteEmployeeByIdPending() throws Exception {
+        CompletableFuture<Response<Employee>> pending = new CompletableFuture<>();
+        when(employeeServiceMock.deleteEmployeeById(any())).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(delete("/employee/" + SEARCH_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.complete(Response.handledWith(employee));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Lowell Willms II"));
+    }
+}
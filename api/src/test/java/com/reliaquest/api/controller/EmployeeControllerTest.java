@@ -9,10 +9,12 @@ import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 class EmployeeControllerTest {
@@ -90,6 +92,17 @@ class EmployeeControllerTest {
         verify(employeeServiceMock, times(1)).getAllEmployees();
     }
 
+    @DisplayName("Get all employees, stale data carries a warning")
+    @Test
+    void getAllEmployeesStale() {
+        when(employeeServiceMock.getAllEmployees()).thenReturn(Response.stale(List.of(employee, employee2)));
+
+        ResponseEntity<List<Employee>> actual = employeeController.getAllEmployees();
+
+        assertEquals(200, actual.getStatusCode().value());
+        assertEquals("110 - \"Response is Stale\"", actual.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
     @DisplayName("Get all employees, error")
     @Test
     void getAllEmployeesError() {
@@ -145,7 +158,7 @@ class EmployeeControllerTest {
     @DisplayName("Search by employee Id, no results")
     @Test
     void getEmployeeById() {
-        when(employeeServiceMock.getEmployeeById(anyString())).thenReturn(null);
+        when(employeeServiceMock.getEmployeeById(anyString())).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<Employee> actual = employeeController.getEmployeeById(SEARCH_ID);
 
@@ -158,7 +171,8 @@ class EmployeeControllerTest {
     @Test
     void getEmployeeByIdSuccess() {
         Response<Employee> employeeResponse = new Response<>(employee, Response.Status.HANDLED, null);
-        when(employeeServiceMock.getEmployeeById(anyString())).thenReturn(employeeResponse);
+        when(employeeServiceMock.getEmployeeById(anyString()))
+                .thenReturn(CompletableFuture.completedFuture(employeeResponse));
 
         ResponseEntity<Employee> actual = employeeController.getEmployeeById(SEARCH_ID);
 
@@ -178,6 +192,19 @@ class EmployeeControllerTest {
         verify(employeeServiceMock, times(1)).getHighestSalaryOfEmployees();
     }
 
+    @DisplayName("Highest salary, fresh data carries no warning and stale data does")
+    @Test
+    void getHighestSalaryOfEmployeesStale() {
+        when(employeeServiceMock.getHighestSalaryOfEmployees()).thenReturn(50000);
+
+        assertNull(employeeController.getHighestSalaryOfEmployees().getHeaders().getFirst(HttpHeaders.WARNING));
+        when(employeeServiceMock.isStale()).thenReturn(true);
+        ResponseEntity<Integer> actual = employeeController.getHighestSalaryOfEmployees();
+
+        assertEquals(50000, actual.getBody());
+        assertEquals("110 - \"Response is Stale\"", actual.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
     @Test
     void getHighestSalaryOfEmployeesNoContent() {
         when(employeeServiceMock.getHighestSalaryOfEmployees()).thenReturn(null);
@@ -211,7 +238,8 @@ class EmployeeControllerTest {
 
     @Test
     void createEmployee() {
-        when(employeeServiceMock.createEmployee(any())).thenReturn(Response.handledWith(employee));
+        when(employeeServiceMock.createEmployee(any()))
+                .thenReturn(CompletableFuture.completedFuture(Response.handledWith(employee)));
         ResponseEntity<Employee> actual = employeeController.createEmployee(employee);
 
         assertNotNull(actual);
@@ -221,7 +249,7 @@ class EmployeeControllerTest {
 
     @Test
     void createEmployeeBadRequest() {
-        when(employeeServiceMock.createEmployee(any())).thenReturn(null);
+        when(employeeServiceMock.createEmployee(any())).thenReturn(CompletableFuture.completedFuture(null));
         ResponseEntity<Employee> actual = employeeController.createEmployee(employee);
 
         assertNotNull(actual);
@@ -231,7 +259,8 @@ class EmployeeControllerTest {
 
     @Test
     void createEmployeeBadRequestNoContent() {
-        when(employeeServiceMock.createEmployee(any())).thenReturn(Response.handledWith(null));
+        when(employeeServiceMock.createEmployee(any()))
+                .thenReturn(CompletableFuture.completedFuture(Response.handledWith(null)));
         ResponseEntity<Employee> actual = employeeController.createEmployee(employee);
 
         assertNotNull(actual);
@@ -241,7 +270,8 @@ class EmployeeControllerTest {
 
     @Test
     void deleteEmployeeById() {
-        when(employeeServiceMock.deleteEmployeeById(any())).thenReturn(Response.handledWith(employee));
+        when(employeeServiceMock.deleteEmployeeById(any()))
+                .thenReturn(CompletableFuture.completedFuture(Response.handledWith(employee)));
         ResponseEntity<String> actual = employeeController.deleteEmployeeById(SEARCH_ID);
 
         assertNotNull(actual);
@@ -253,7 +283,8 @@ class EmployeeControllerTest {
     @Test
     void deleteEmployeeByIdNotFound() {
         employee.setName(null);
-        when(employeeServiceMock.deleteEmployeeById(any())).thenReturn(Response.handledWith(employee));
+        when(employeeServiceMock.deleteEmployeeById(any()))
+                .thenReturn(CompletableFuture.completedFuture(Response.handledWith(employee)));
         ResponseEntity<String> actual = employeeController.deleteEmployeeById(SEARCH_ID);
 
         assertNotNull(actual);
@@ -0,0 +1,104 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.common.Response;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class EmployeeListHttpMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private EmployeeService employeeServiceMock;
+    private MockMvc mockMvc;
+    private Employee employee, employee2;
+
+    @BeforeEach
+    void setUp() {
+        employeeServiceMock = mock(EmployeeService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(employeeServiceMock))
+                .setMessageConverters(
+                        new EmployeeListHttpMessageConverter(objectMapper),
+                        new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+
+        employee = Employee.builder()
+                .id("d3e4d6e8-fb10-4350-a340-7f6f84574d50")
+                .name("Lowell Willms II")
+                .salary(58633)
+                .age(68)
+                .title("Community-Services Manager")
+                .email("zaam-dox@company.com")
+                .build();
+        employee2 = Employee.builder()
+                .id("f97290eb-82b6-4966-9ad5-1d475c63e858")
+                .name("Terence Considine")
+                .salary(346280)
+                .build();
+    }
+
+    @DisplayName("snapshot list is written as the same JSON Jackson would write, with an ETag")
+    @Test
+    void writesSnapshotList() throws Exception {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(1, Instant.EPOCH, List.of(employee, employee2));
+        when(employeeServiceMock.getAllEmployees()).thenReturn(Response.handledWith(snapshot.getEmployees()));
+
+        MvcResult result = mockMvc.perform(get("/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+
+        byte[] expected = objectMapper.writeValueAsBytes(List.of(employee, employee2));
+        assertArrayEquals(expected, result.getResponse().getContentAsByteArray());
+        assertEquals(expected.length, result.getResponse().getContentLength());
+        assertSame(
+                snapshot.getEmployees().serialized(employees -> fail("serialized twice")),
+                snapshot.getEmployees().serialized(employees -> fail("serialized twice")));
+    }
+
+    @DisplayName("matching If-None-Match is answered with 304 until the snapshot version changes")
+    @Test
+    void notModified() throws Exception {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(1, Instant.EPOCH, List.of(employee));
+        when(employeeServiceMock.getAllEmployees()).thenReturn(Response.handledWith(snapshot.getEmployees()));
+        String etag =
+                mockMvc.perform(get("/employee")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/employee").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        EmployeeSnapshot updated = snapshot.withEmployee(2, employee2);
+        when(employeeServiceMock.getAllEmployees()).thenReturn(Response.handledWith(updated.getEmployees()));
+
+        mockMvc.perform(get("/employee").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag.replace("-v1", "-v2")));
+    }
+
+    @DisplayName("plain lists are left to the Jackson converter without an ETag")
+    @Test
+    void plainList() throws Exception {
+        when(employeeServiceMock.getAllEmployees()).thenReturn(Response.handledWith(List.of(employee)));
+
+        mockMvc.perform(get("/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(List.of(employee))));
+    }
+}
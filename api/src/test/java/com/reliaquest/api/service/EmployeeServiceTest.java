@@ -1,16 +1,26 @@
 package com.reliaquest.api.service;
 
+import static com.reliaquest.api.common.Constants.APPLICATION_NDJSON;
+import static com.reliaquest.api.common.Constants.HEADER_EMPLOYEE_COUNT;
+import static com.reliaquest.api.common.Constants.HEADER_PAGE_CURSORS;
 import static com.reliaquest.api.common.Constants.PATH_EMPLOYEE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeTable;
 import com.reliaquest.api.client.EmployeeServiceClient;
+import com.reliaquest.api.client.Hedger;
+import com.reliaquest.api.codec.EmployeeCodec;
 import com.reliaquest.api.common.EmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,10 +58,10 @@ class EmployeeServiceTest {
         when(exceptionMock.getMessage()).thenReturn(EXCEPTION_MESSAGE);
 
         employeeServiceClientMock = mock(EmployeeServiceClient.class);
-        when(employeeServiceClientMock.get(any())).thenReturn(responseMock);
-        when(employeeServiceClientMock.post(any(), any())).thenReturn(responseMock);
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.completedFuture(responseMock));
+        when(employeeServiceClientMock.post(any(), any())).thenReturn(CompletableFuture.completedFuture(responseMock));
 
-        employeeService = new EmployeeService(employeeServiceClientMock);
+        employeeService = service(0, 4, false);
 
         buildEmployees();
     }
@@ -76,9 +86,14 @@ class EmployeeServiceTest {
 
         com.reliaquest.api.common.Response<List<Employee>> cachedResponse =
                 com.reliaquest.api.common.Response.handledWith(List.of(employee, employee2));
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(cachedResponse));
+        stubBody(objectMapper.writeValueAsString(cachedResponse));
         when(responseMock.body()).thenReturn(responseBodyMock);
-        when(employeeServiceClientMock.get(PATH_EMPLOYEE)).thenReturn(responseMock);
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE)).thenReturn(CompletableFuture.completedFuture(responseMock));
+    }
+
+    private void stubBody(String json) throws IOException {
+        when(responseBodyMock.byteStream())
+                .thenAnswer(invocation -> new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
     }
 
     @DisplayName("Get all employees, no results")
@@ -111,7 +126,7 @@ class EmployeeServiceTest {
         assertEquals(expected, actual);
         verify(employeeServiceClientMock, times(1)).get(any());
         verify(responseMock, times(1)).body();
-        verify(responseBodyMock, times(0)).string();
+        verify(responseBodyMock, times(0)).byteStream();
     }
 
     @DisplayName("Get all employees, 2 result")
@@ -119,7 +134,7 @@ class EmployeeServiceTest {
     void getAllEmployeesTwoResult() throws IOException {
         com.reliaquest.api.common.Response<List<Employee>> expected =
                 com.reliaquest.api.common.Response.handledWith(List.of(employee, employee2));
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
+        stubBody(objectMapper.writeValueAsString(expected));
 
         com.reliaquest.api.common.Response<List<Employee>> actual = employeeService.getAllEmployees();
 
@@ -132,7 +147,7 @@ class EmployeeServiceTest {
     @DisplayName("Get all employees, error")
     @Test
     void getAllEmployeesError() throws IOException {
-        when(employeeServiceClientMock.get(any())).thenThrow(exceptionMock);
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.failedFuture(exceptionMock));
 
         com.reliaquest.api.common.Response<List<Employee>> expected =
                 com.reliaquest.api.common.Response.error(EXCEPTION_MESSAGE);
@@ -144,6 +159,131 @@ class EmployeeServiceTest {
         verify(employeeServiceClientMock, times(1)).get(any());
     }
 
+    @DisplayName("Get all employees in pages, fetched from the cursors listed on the first page")
+    @Test
+    void getAllEmployeesPaged() throws IOException {
+        Response first = pageResponse(List.of(employee), "c1");
+        Response second = pageResponse(List.of(employee2), null);
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?limit=1"))
+                .thenReturn(CompletableFuture.completedFuture(first));
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?cursor=c1"))
+                .thenReturn(CompletableFuture.completedFuture(second));
+        EmployeeService pagedService = pagedService(2);
+
+        com.reliaquest.api.common.Response<List<Employee>> actual = pagedService.getAllEmployees();
+
+        assertEquals(com.reliaquest.api.common.Response.handledWith(List.of(employee, employee2)), actual);
+        verify(employeeServiceClientMock, never()).get(PATH_EMPLOYEE);
+        pagedService.shutdown();
+    }
+
+    @DisplayName("Get all employees in pages, a page turned away by the concurrency limit is fetched again")
+    @Test
+    void getAllEmployeesPagedRejected() throws IOException {
+        Employee employee3 = Employee.builder()
+                .id("0b8c7c1e-4a0f-4bb4-9d0d-6b2e4f0f6a11")
+                .name("Marta Quigley")
+                .salary(120000)
+                .build();
+        Response first = pageResponse(List.of(employee), "c1,c2");
+        Response second = pageResponse(List.of(employee2), null);
+        Response third = pageResponse(List.of(employee3), null);
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?limit=1"))
+                .thenReturn(CompletableFuture.completedFuture(first));
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?cursor=c1"))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("limit reached")))
+                .thenReturn(CompletableFuture.completedFuture(second));
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?cursor=c2"))
+                .thenReturn(CompletableFuture.completedFuture(third));
+        EmployeeService pagedService = pagedService(2);
+
+        com.reliaquest.api.common.Response<List<Employee>> actual = pagedService.getAllEmployees();
+
+        assertEquals(com.reliaquest.api.common.Response.handledWith(List.of(employee, employee2, employee3)), actual);
+        verify(employeeServiceClientMock, times(2)).get(PATH_EMPLOYEE + "?cursor=c1");
+        pagedService.shutdown();
+    }
+
+    @DisplayName("Get all employees in pages, a failed page fails the load")
+    @Test
+    void getAllEmployeesPagedError() throws IOException {
+        Response first = pageResponse(List.of(employee), "c1");
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?limit=1"))
+                .thenReturn(CompletableFuture.completedFuture(first));
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE + "?cursor=c1"))
+                .thenReturn(CompletableFuture.failedFuture(exceptionMock));
+        EmployeeService pagedService = pagedService(2);
+
+        com.reliaquest.api.common.Response<List<Employee>> actual = pagedService.getAllEmployees();
+
+        assertEquals(com.reliaquest.api.common.Response.error(EXCEPTION_MESSAGE), actual);
+        pagedService.shutdown();
+    }
+
+    @DisplayName("Get all employees streamed as NDJSON")
+    @Test
+    void getAllEmployeesStreamed() throws IOException {
+        String ndjson =
+                objectMapper.writeValueAsString(employee) + "\n" + objectMapper.writeValueAsString(employee2) + "\n";
+        stubBody(ndjson);
+        when(responseBodyMock.contentType()).thenReturn(okhttp3.MediaType.get(APPLICATION_NDJSON));
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE, APPLICATION_NDJSON))
+                .thenReturn(CompletableFuture.completedFuture(responseMock));
+        EmployeeService streamedService = service(1, 2, true);
+
+        com.reliaquest.api.common.Response<List<Employee>> actual = streamedService.getAllEmployees();
+
+        assertEquals(com.reliaquest.api.common.Response.handledWith(List.of(employee, employee2)), actual);
+        verify(employeeServiceClientMock, never()).get(any());
+        streamedService.shutdown();
+    }
+
+    @DisplayName("Get all employees streamed as NDJSON fails when fewer lines arrive than announced")
+    @Test
+    void getAllEmployeesStreamedTruncated() throws IOException {
+        stubBody(objectMapper.writeValueAsString(employee) + "\n");
+        when(responseBodyMock.contentType()).thenReturn(okhttp3.MediaType.get(APPLICATION_NDJSON));
+        when(responseMock.header(HEADER_EMPLOYEE_COUNT)).thenReturn("2");
+        when(employeeServiceClientMock.get(PATH_EMPLOYEE, APPLICATION_NDJSON))
+                .thenReturn(CompletableFuture.completedFuture(responseMock));
+        EmployeeService streamedService = service(1, 2, true);
+
+        com.reliaquest.api.common.Response<List<Employee>> actual = streamedService.getAllEmployees();
+
+        assertEquals(com.reliaquest.api.common.Response.error("Employee list holds 1 employees, expected 2"), actual);
+        streamedService.shutdown();
+    }
+
+    private EmployeeService pagedService(int pageParallelism) {
+        return service(1, pageParallelism, false);
+    }
+
+    private EmployeeService service(int pageSize, int pageParallelism, boolean stream) {
+        return new EmployeeService(
+                employeeServiceClientMock,
+                new EmployeeCodec(objectMapper),
+                Hedger.disabled(),
+                480,
+                30,
+                EmployeeTable.Format.OBJECTS,
+                pageSize,
+                pageParallelism,
+                stream,
+                false);
+    }
+
+    private Response pageResponse(List<Employee> employees, String cursors) throws IOException {
+        Response response = mock(Response.class);
+        ResponseBody body = mock(ResponseBody.class);
+        String json = objectMapper.writeValueAsString(com.reliaquest.api.common.Response.handledWith(employees));
+        when(response.isSuccessful()).thenReturn(true);
+        when(response.body()).thenReturn(body);
+        when(response.header(HEADER_PAGE_CURSORS)).thenReturn(cursors);
+        when(body.byteStream())
+                .thenAnswer(invocation -> new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+
     @DisplayName("Search by employee name, no results")
     @Test
     void searchByEmployeeName() throws IOException {
@@ -163,7 +303,7 @@ class EmployeeServiceTest {
     void searchByEmployeeNameOneResult() throws IOException {
         com.reliaquest.api.common.Response<List<Employee>> expected =
                 com.reliaquest.api.common.Response.handledWith(List.of(employee));
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
+        stubBody(objectMapper.writeValueAsString(expected));
 
         com.reliaquest.api.common.Response<List<Employee>> actual = employeeService.searchByEmployeeName("Lowell");
 
@@ -176,7 +316,7 @@ class EmployeeServiceTest {
     @DisplayName("Search by employee name, error")
     @Test
     void searchByEmployeeNameError() throws IOException {
-        when(employeeServiceClientMock.get(any())).thenThrow(exceptionMock);
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.failedFuture(exceptionMock));
 
         com.reliaquest.api.common.Response<Object> expected =
                 com.reliaquest.api.common.Response.error("No employees found");
@@ -193,24 +333,75 @@ class EmployeeServiceTest {
     void findEmployeeById() throws IOException {
         com.reliaquest.api.common.Response<Employee> expected =
                 com.reliaquest.api.common.Response.handledWith(employee);
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
+        stubBody(objectMapper.writeValueAsString(expected));
         String searchIdValue = employee.getId().toString();
 
-        com.reliaquest.api.common.Response<Employee> actual = employeeService.getEmployeeById(searchIdValue);
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.getEmployeeById(searchIdValue).join();
 
         assertNotNull(actual);
         assertEquals(expected, actual);
     }
 
+    @DisplayName("find employee by id, served from snapshot")
+    @Test
+    void findEmployeeByIdFromSnapshot() throws IOException {
+        employeeService.getAllEmployees();
+
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.getEmployeeById(employee2.getId()).join();
+
+        assertEquals(com.reliaquest.api.common.Response.handledWith(employee2), actual);
+        verify(employeeServiceClientMock, times(1)).get(any());
+        verify(employeeServiceClientMock, times(1)).get(PATH_EMPLOYEE);
+    }
+
+    @DisplayName("reads from the snapshot are marked stale while the employee service is degraded")
+    @Test
+    void staleWhileUpstreamDegraded() throws IOException {
+        stubBody(objectMapper.writeValueAsString(
+                com.reliaquest.api.common.Response.handledWith(List.of(employee, employee2))));
+        employeeService.getAllEmployees();
+        when(employeeServiceClientMock.isUpstreamDegraded()).thenReturn(true);
+
+        assertTrue(employeeService.isStale());
+        assertEquals(
+                com.reliaquest.api.common.Response.Status.STALE,
+                employeeService.getAllEmployees().status());
+        assertEquals(
+                com.reliaquest.api.common.Response.stale(employee2),
+                employeeService.getEmployeeById(employee2.getId()).join());
+        assertEquals(
+                com.reliaquest.api.common.Response.stale(List.of(employee)),
+                employeeService.searchByEmployeeName("Lowell"));
+        verify(employeeServiceClientMock, times(1)).get(any());
+    }
+
+    @DisplayName("find employee by id, snapshot miss goes upstream")
+    @Test
+    void findEmployeeByIdSnapshotMiss() throws IOException {
+        employeeService.getAllEmployees();
+        Employee employee3 =
+                employee.toBuilder().id("0b8e6b1e-2a7b-4c1b-9e0a-3f5d3c6f2a11").build();
+        stubBody(objectMapper.writeValueAsString(com.reliaquest.api.common.Response.handledWith(employee3)));
+
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.getEmployeeById(employee3.getId()).join();
+
+        assertEquals(com.reliaquest.api.common.Response.handledWith(employee3), actual);
+        verify(employeeServiceClientMock, times(1)).get(PATH_EMPLOYEE + "/" + employee3.getId());
+    }
+
     @DisplayName("find employee by id, error")
     @Test
     void findEmployeeByIdError() throws IOException {
-        when(employeeServiceClientMock.get(any())).thenThrow(exceptionMock);
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.failedFuture(exceptionMock));
 
         com.reliaquest.api.common.Response<Object> expected =
                 com.reliaquest.api.common.Response.error(EXCEPTION_MESSAGE);
 
-        com.reliaquest.api.common.Response<Employee> actual = employeeService.getEmployeeById("1");
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.getEmployeeById("1").join();
 
         assertNotNull(actual);
         assertEquals(expected, actual);
@@ -224,7 +415,8 @@ class EmployeeServiceTest {
 
         com.reliaquest.api.common.Response<Object> expected = com.reliaquest.api.common.Response.error("0 null");
 
-        com.reliaquest.api.common.Response<Employee> actual = employeeService.getEmployeeById("1");
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.getEmployeeById("1").join();
 
         assertNotNull(actual);
         assertEquals(expected, actual);
@@ -243,10 +435,11 @@ class EmployeeServiceTest {
 
         com.reliaquest.api.common.Response<Employee> expected =
                 com.reliaquest.api.common.Response.handledWith(employee);
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
+        stubBody(objectMapper.writeValueAsString(expected));
         when(responseMock.isSuccessful()).thenReturn(true);
 
-        com.reliaquest.api.common.Response<Employee> actual = employeeService.createEmployee(employeeRequest);
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.createEmployee(employeeRequest).join();
 
         assertNotNull(actual);
         assertEquals(employeeRequest.getName(), actual.data().getName());
@@ -257,13 +450,41 @@ class EmployeeServiceTest {
         verify(responseMock, times(1)).body();
     }
 
+    @DisplayName("create and delete employee, reflected in cached snapshot")
+    @Test
+    void createAndDeleteEmployeeWriteThrough() throws IOException {
+        employeeService.getAllEmployees();
+        Employee employee3 = employee.toBuilder()
+                .id("0b8e6b1e-2a7b-4c1b-9e0a-3f5d3c6f2a11")
+                .name("Jill Jenkins")
+                .build();
+        stubBody(objectMapper.writeValueAsString(com.reliaquest.api.common.Response.handledWith(employee3)));
+        when(employeeServiceClientMock.delete(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(responseMock));
+
+        employeeService.createEmployee(new EmployeeRequest()).join();
+
+        assertEquals(
+                List.of(employee, employee2, employee3),
+                employeeService.getAllEmployees().data());
+        assertEquals(
+                List.of(employee3), employeeService.searchByEmployeeName("Jill").data());
+
+        employeeService.deleteEmployeeById(employee2.getId()).join();
+
+        assertEquals(
+                List.of(employee, employee3), employeeService.getAllEmployees().data());
+        assertEquals(employee3.getSalary(), employeeService.getHighestSalaryOfEmployees());
+        verify(employeeServiceClientMock, times(1)).get(any());
+    }
+
     @DisplayName("create employee, error")
     @Test
     void createEmployeeError() throws IOException {
         when(responseMock.isSuccessful()).thenReturn(false);
 
         com.reliaquest.api.common.Response<Employee> actual =
-                employeeService.createEmployee(mock(EmployeeRequest.class));
+                employeeService.createEmployee(mock(EmployeeRequest.class)).join();
 
         assertNotNull(actual);
         verify(employeeServiceClientMock, times(1)).post(any(), any());
@@ -272,41 +493,56 @@ class EmployeeServiceTest {
     @DisplayName("delete employee, not found")
     @Test
     void deleteEmployee() throws IOException {
-        when(employeeServiceClientMock.get(any())).thenReturn(responseMock);
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.completedFuture(responseMock));
         com.reliaquest.api.common.Response<Object> expected = new com.reliaquest.api.common.Response<>(
                 null, com.reliaquest.api.common.Response.Status.ERROR, "Employee not found");
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
+        stubBody(objectMapper.writeValueAsString(expected));
         when(responseMock.isSuccessful()).thenReturn(true);
         when(responseMock.body()).thenReturn(responseBodyMock);
 
-        com.reliaquest.api.common.Response<Employee> actual = employeeService.deleteEmployeeById("1");
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.deleteEmployeeById("1").join();
 
         assertNotNull(actual);
         assertEquals(expected, actual);
         verify(employeeServiceClientMock, times(0)).delete(any(), any());
         verify(responseMock, times(1)).body();
-        verify(responseBodyMock, times(1)).string();
+        verify(responseBodyMock, times(1)).byteStream();
         verify(responseMock, times(1)).isSuccessful();
     }
 
+    @DisplayName("delete employee, snapshot unavailable")
+    @Test
+    void deleteEmployeeSnapshotError() throws IOException {
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.failedFuture(exceptionMock));
+
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.deleteEmployeeById(employee.getId()).join();
+
+        assertEquals(com.reliaquest.api.common.Response.error(EXCEPTION_MESSAGE), actual);
+        verify(employeeServiceClientMock, times(0)).delete(any(), any());
+    }
+
     @DisplayName("delete employee, found")
     @Test
     void deleteEmployeeFound() throws IOException {
-        when(employeeServiceClientMock.get(any())).thenReturn(responseMock);
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.completedFuture(responseMock));
         com.reliaquest.api.common.Response<Employee> expected =
                 com.reliaquest.api.common.Response.handledWith(employee);
-        when(employeeServiceClientMock.delete(any(), any())).thenReturn(responseMock);
+        when(employeeServiceClientMock.delete(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(responseMock));
         // when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
         when(responseMock.isSuccessful()).thenReturn(true);
         // when(responseMock.body()).thenReturn(responseBodyMock);
 
-        com.reliaquest.api.common.Response<Employee> actual = employeeService.deleteEmployeeById(employee.getId());
+        com.reliaquest.api.common.Response<Employee> actual =
+                employeeService.deleteEmployeeById(employee.getId()).join();
 
         assertNotNull(actual);
         assertEquals(expected, actual);
         verify(employeeServiceClientMock, times(1)).delete(any(), any());
         verify(responseMock, times(1)).body();
-        verify(responseBodyMock, times(1)).string();
+        verify(responseBodyMock, times(1)).byteStream();
         verify(responseMock, times(2)).isSuccessful();
     }
 
@@ -323,7 +559,7 @@ class EmployeeServiceTest {
         }
         com.reliaquest.api.common.Response<List<Employee>> expected =
                 com.reliaquest.api.common.Response.handledWith(employees);
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(expected));
+        stubBody(objectMapper.writeValueAsString(expected));
         when(responseMock.body()).thenReturn(responseBodyMock);
 
         Integer actual = employeeService.getHighestSalaryOfEmployees();
@@ -339,7 +575,7 @@ class EmployeeServiceTest {
     void findHighestSalaryOfEmployeesNoneAvailable() throws IOException {
         com.reliaquest.api.common.Response<List<Employee>> employeeResponse =
                 com.reliaquest.api.common.Response.handledWith(Collections.emptyList());
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(employeeResponse));
+        stubBody(objectMapper.writeValueAsString(employeeResponse));
         when(responseMock.body()).thenReturn(responseBodyMock);
 
         Integer actual = employeeService.getHighestSalaryOfEmployees();
@@ -350,6 +586,15 @@ class EmployeeServiceTest {
         verify(responseMock, times(1)).body();
     }
 
+    @DisplayName("find highest salary, error")
+    @Test
+    void findHighestSalaryOfEmployeesError() throws IOException {
+        when(employeeServiceClientMock.get(any())).thenReturn(CompletableFuture.failedFuture(exceptionMock));
+
+        assertNull(employeeService.getHighestSalaryOfEmployees());
+        assertNull(employeeService.getTopTenHighestEarningEmployeeNames());
+    }
+
     @DisplayName("find top ten employees by salary, 20 employees")
     @Test
     void findTopTenEmployeesBySalary() throws IOException {
@@ -370,7 +615,7 @@ class EmployeeServiceTest {
 
         com.reliaquest.api.common.Response<List<Employee>> empoloyeesResponse =
                 com.reliaquest.api.common.Response.handledWith(employees);
-        when(responseBodyMock.string()).thenReturn(objectMapper.writeValueAsString(empoloyeesResponse));
+        stubBody(objectMapper.writeValueAsString(empoloyeesResponse));
         when(responseMock.body()).thenReturn(responseBodyMock);
 
         List<String> expected =
@@ -386,7 +631,7 @@ class EmployeeServiceTest {
     @DisplayName("handle response error")
     @Test
     void handleResponseError() throws IOException {
-        when(responseBodyMock.string()).thenReturn("bad string");
+        stubBody("bad string");
 
         com.reliaquest.api.common.Response<List<Employee>> actual = employeeService.getAllEmployees();
 
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @DisplayName("sequential calls are not cached")
+    @Test
+    void executeAsyncSequential() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.executeAsync("GET /employee", () -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+        singleFlight.executeAsync("GET /employee", () -> CompletableFuture.completedFuture(calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+        assertEquals(2, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getSharedCount());
+    }
+
+    @DisplayName("async calls with the same key share one execution and release the key on completion")
+    @Test
+    void executeAsyncShared() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> leader = singleFlight.executeAsync("GET /employee/1", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> follower = singleFlight.executeAsync("GET /employee/1", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        follower.cancel(true);
+        upstream.complete("result");
+
+        assertEquals("result", leader.join());
+        assertTrue(follower.isCancelled());
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getSharedCount());
+        assertEquals(
+                "next",
+                singleFlight
+                        .executeAsync("GET /employee/1", () -> CompletableFuture.completedFuture("next"))
+                        .join());
+    }
+
+    @DisplayName("async failure is propagated and releases the key")
+    @Test
+    void executeAsyncFailure() {
+        CompletableFuture<String> failed = singleFlight.executeAsync("GET /employee", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        CompletionException thrown = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertEquals(
+                "ok",
+                singleFlight
+                        .executeAsync("GET /employee", () -> CompletableFuture.completedFuture("ok"))
+                        .join());
+    }
+}
@@ -1,18 +1,13 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,25 +26,25 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. MockEmployeeDataset fills it.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore(
+            EmployeeChangeLog changeLog, @Value("${mock.employees.max:20}") int maxEmployees) {
+        return new MockEmployeeStore(changeLog, maxEmployees);
+    }
+
+    /*
+     * Without a seed, a random one is picked; it is logged once the employees are generated, to run them again.
+     */
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.parallelism:0}") int parallelism) {
+        return new MockEmployeeGenerator(
+                seed != null ? seed : ThreadLocalRandom.current().nextLong(),
+                Locale.getDefault(),
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
     }
 
     @Override
@@ -1,15 +1,24 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.EmployeeCursor;
+import com.reliaquest.server.service.MockEmployeePage;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeSnapshot;
 import jakarta.validation.Valid;
-import java.util.List;
+import java.util.Collection;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
+import java.util.stream.Collectors;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +26,101 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
-@RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String VERSION_HEADER = "X-Employee-Version";
+    public static final String COUNT_HEADER = "X-Employee-Count";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String PAGE_CURSORS_HEADER = "X-Page-Cursors";
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final ObjectWriter employeeLineWriter;
+
+    public MockEmployeeController(MockEmployeeService mockEmployeeService, ObjectMapper objectMapper) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.employeeLineWriter = objectMapper
+                .writerFor(MockEmployee.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /*
+     * The full list, or one page of it when a limit or a cursor is given. The first page lists the cursors of the
+     * pages after it, which clients may fetch in any order and in parallel. A cursor outlives creates and deletes but
+     * not a compaction of the list, after which it is answered with 410 and the client starts again.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<Collection<MockEmployee>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            final EmployeeCursor parsed;
+            try {
+                parsed = EmployeeCursor.parse(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Response.error(e.getMessage()));
+            }
+            if (parsed.size() > MockEmployeeService.MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body(Response.error("Cursor page is too large."));
+            }
+            return mockEmployeeService
+                    .getPage(parsed)
+                    .map(MockEmployeeController::page)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                            .body(Response.error("Cursor has expired, start again from the first page.")));
+        }
+        if (limit != null) {
+            if (limit < 1 || limit > MockEmployeeService.MAX_PAGE_SIZE) {
+                return ResponseEntity.badRequest()
+                        .body(Response.error("limit must be between 1 and " + MockEmployeeService.MAX_PAGE_SIZE));
+            }
+            return page(mockEmployeeService.getFirstPage(limit));
+        }
+        MockEmployeeSnapshot snapshot = mockEmployeeService.getMockEmployees();
+        return ResponseEntity.ok().header(VERSION_HEADER, snapshot.getVersion()).body(Response.handledWith(snapshot));
+    }
+
+    /*
+     * The full list as NDJSON, one employee per line, written while the snapshot is iterated. Nothing is buffered
+     * beyond the output buffers, so the first employee goes out as soon as the response starts and memory use does not
+     * grow with the list. There is no envelope: a failure midway aborts the response, which the client sees as a
+     * truncated body. The number of lines is sent up front, so a body cut off at a line boundary is not taken for the
+     * whole list. Pages are only served in the enveloped formats.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (limit != null || cursor != null) {
+            return ResponseEntity.badRequest().build();
+        }
+        MockEmployeeSnapshot snapshot = mockEmployeeService.getMockEmployees();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = employeeLineWriter.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                for (MockEmployee employee : snapshot) {
+                    employeeLineWriter.writeValue(generator, employee);
+                }
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .header(VERSION_HEADER, snapshot.getVersion())
+                .header(COUNT_HEADER, String.valueOf(snapshot.size()))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    public Response<EmployeeChanges> getChanges(@RequestParam("since") String since) {
+        return Response.handledWith(mockEmployeeService.changesSince(since));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +140,17 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private static ResponseEntity<Response<Collection<MockEmployee>>> page(MockEmployeePage page) {
+        final var response = ResponseEntity.ok().header(VERSION_HEADER, page.version());
+        if (page.next() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.next().encode());
+        }
+        if (!page.cursors().isEmpty()) {
+            response.header(
+                    PAGE_CURSORS_HEADER,
+                    page.cursors().stream().map(EmployeeCursor::encode).collect(Collectors.joining(",")));
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
 }
@@ -1,7 +1,10 @@
 package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeesLoadingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +13,16 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class MockEmployeeControllerAdvice {
 
+    /*
+     * No body, so the answer suits any Accept header, streamed lists included.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<?> handleLoading(MockEmployeesLoadingException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+
     @ExceptionHandler
     protected ResponseEntity<?> handleException(Throwable ex) {
         log.error("Error handling web request.", ex);
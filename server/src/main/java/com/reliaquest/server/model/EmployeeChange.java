@@ -0,0 +1,17 @@
+package com.reliaquest.server.model;
+
+public record EmployeeChange(Type type, MockEmployee employee) {
+
+    public static EmployeeChange created(MockEmployee employee) {
+        return new EmployeeChange(Type.CREATED, employee);
+    }
+
+    public static EmployeeChange deleted(MockEmployee employee) {
+        return new EmployeeChange(Type.DELETED, employee);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * The changes after a version, in the order they were made, and the version they lead to. When the log no longer
+ * reaches back to the requested version, or the version comes from another server run, reset is set and the caller
+ * must load the full list again.
+ */
+public record EmployeeChanges(String version, boolean reset, List<EmployeeChange> changes) {}
@@ -1,5 +1,6 @@
 package com.reliaquest.server.model;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import java.util.UUID;
@@ -14,7 +15,10 @@ import lombok.NonNull;
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
 public class MockEmployee {
 
+    // Binary formats such as Smile would otherwise write a UUID as 16 raw bytes rather than its text form.
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private UUID id;
+
     private String name;
     private Integer salary;
     private Integer age;
@@ -0,0 +1,105 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Numbers every create and delete and keeps the most recent ones, so clients can catch up on what changed instead of
+ * loading the full list again. Versions are handed out as "<epoch>-<number>": the epoch is picked at startup, so a
+ * version from an earlier run or from another instance is never mistaken for one of ours.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeLog {
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final int maxChanges;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private long version;
+
+    public EmployeeChangeLog(@Value("${mock.changes.max:10000}") int maxChanges) {
+        if (maxChanges < 1) {
+            throw new IllegalArgumentException("mock.changes.max must be at least 1");
+        }
+        this.maxChanges = maxChanges;
+    }
+
+    public String version() {
+        lock.lock();
+        try {
+            return format(version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Returns the version the change leads to.
+     */
+    public String record(@NonNull EmployeeChange change) {
+        lock.lock();
+        try {
+            entries.addLast(new Entry(++version, change));
+            if (entries.size() > maxChanges) {
+                entries.removeFirst();
+            }
+            return format(version);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public EmployeeChanges since(@NonNull String since) {
+        lock.lock();
+        try {
+            long from = parse(since);
+            long oldest = entries.isEmpty() ? version : entries.getFirst().version() - 1;
+            if (from < oldest || from > version) {
+                log.debug("Cannot serve changes since {}, current version is {}", since, format(version));
+                return new EmployeeChanges(format(version), true, List.of());
+            }
+            List<EmployeeChange> changes = new ArrayList<>((int) (version - from));
+            for (Entry entry : entries) {
+                if (entry.version() > from) {
+                    changes.add(entry.change());
+                }
+            }
+            return new EmployeeChanges(format(version), false, changes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String format(long number) {
+        return epoch + "-" + number;
+    }
+
+    /*
+     * Returns -1 for versions that are not ours, which is always older than the log reaches.
+     */
+    private long parse(String since) {
+        int separator = since.lastIndexOf('-');
+        if (separator < 0 || !since.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(since.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record Entry(long version, EmployeeChange change) {}
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.NonNull;
+
+/*
+ * A page of the employee list, as the range of snapshot slots [from, to) it covers, handed to clients as an opaque
+ * token. A cursor only holds for the layout it was cut from: once the store compacts the list, the same slots hold
+ * other employees. A cursor that ends a batch of listed cursors lists the next batch when it is served.
+ */
+public record EmployeeCursor(long layout, int from, int to, boolean listsMore) {
+
+    public EmployeeCursor {
+        if (from < 0 || to <= from) {
+            throw new IllegalArgumentException("Invalid cursor range: " + from + ".." + to);
+        }
+    }
+
+    public static EmployeeCursor parse(@NonNull String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new EmployeeCursor(
+                    Long.parseUnsignedLong(parts[0], 16),
+                    Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    "1".equals(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    public int size() {
+        return to - from;
+    }
+
+    public String encode() {
+        String plain = Long.toHexString(layout) + ":" + from + ":" + to + ":" + (listsMore ? "1" : "0");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.server.service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Fills the store with the generated employees, either before the server starts or, with mock.employees.background,
+ * on a background thread while it already accepts requests. Until they are in, employee requests fail with
+ * MockEmployeesLoadingException rather than see a partial list that a client would take for the whole one.
+ */
+@Slf4j
+@Component
+public class MockEmployeeDataset {
+
+    private final MockEmployeeStore mockEmployeeStore;
+    private final MockEmployeeGenerator generator;
+    private final int maxEmployees;
+    private final boolean background;
+
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    public MockEmployeeDataset(
+            MockEmployeeStore mockEmployeeStore,
+            MockEmployeeGenerator generator,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.background:false}") boolean background) {
+        this.mockEmployeeStore = mockEmployeeStore;
+        this.generator = generator;
+        this.maxEmployees = maxEmployees;
+        this.background = background;
+    }
+
+    @PostConstruct
+    void start() {
+        if (background) {
+            final var thread = new Thread(this::load, "mock-employee-generator");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            load();
+        }
+    }
+
+    public void requireLoaded() {
+        if (loaded.isCompletedExceptionally()) {
+            throw new IllegalStateException("Generating mock employees failed");
+        }
+        if (!loaded.isDone()) {
+            throw new MockEmployeesLoadingException();
+        }
+    }
+
+    private void load() {
+        final long start = System.nanoTime();
+        try {
+            mockEmployeeStore.load(generator.generate(maxEmployees));
+            loaded.complete(null);
+            log.info(
+                    "Generated {} mock employees from seed {} in {} ms",
+                    maxEmployees,
+                    generator.getSeed(),
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (RuntimeException e) {
+            loaded.completeExceptionally(e);
+            if (!background) {
+                throw e;
+            }
+            log.error("Generating mock employees failed", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.NonNull;
+import net.datafaker.Faker;
+
+/*
+ * Generates the initial employees from a seed. Rows are cut into shards of a fixed size, and each shard is built by
+ * its own Faker on a Random seeded from the dataset seed and the shard number, so shards run in parallel on a
+ * fork-join pool without sharing any state. The same seed and locale give the same employees in the same order,
+ * however many threads generate them.
+ */
+public class MockEmployeeGenerator {
+
+    static final int SHARD_SIZE = 1000;
+
+    @Getter
+    private final long seed;
+
+    private final Locale locale;
+    private final int parallelism;
+
+    public MockEmployeeGenerator(long seed, @NonNull Locale locale, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.seed = seed;
+        this.locale = locale;
+        this.parallelism = parallelism;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final int shards = (count + SHARD_SIZE - 1) / SHARD_SIZE;
+        final List<Callable<List<MockEmployee>>> tasks = IntStream.range(0, shards)
+                .<Callable<List<MockEmployee>>>mapToObj(
+                        shard -> () -> shard(shard, Math.min(SHARD_SIZE, count - shard * SHARD_SIZE)))
+                .toList();
+        final var pool = new ForkJoinPool(Math.min(parallelism, Math.max(1, shards)));
+        try {
+            final var employees = new ArrayList<MockEmployee>(count);
+            for (Future<List<MockEmployee>> shard : pool.invokeAll(tasks)) {
+                employees.addAll(shard.get());
+            }
+            return employees;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating mock employees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating mock employees failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<MockEmployee> shard(int shard, int size) {
+        final var random = new Random(mix(seed + (shard + 1) * 0x9E3779B97F4A7C15L));
+        final var faker = new Faker(locale, random);
+        final var employees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase(Locale.ROOT)))
+                    .build());
+        }
+        return employees;
+    }
+
+    /*
+     * A random (version 4) UUID drawn from the shard's Random instead of the shared SecureRandom.
+     */
+    private static UUID uuid(Random random) {
+        final long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    /*
+     * SplitMix64's finalizer: shard seeds that differ in a few bits give unrelated Random sequences.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/*
+ * One page of the employee list. next is the page after this one, if the list goes on; cursors are the pages a
+ * client may fetch in parallel, listed on the first page and on every page that ends a batch of them.
+ */
+public record MockEmployeePage(
+        List<MockEmployee> employees, String version, EmployeeCursor next, List<EmployeeCursor> cursors) {}
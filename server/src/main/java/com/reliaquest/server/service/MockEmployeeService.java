@@ -3,12 +3,12 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
 import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,39 +20,97 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 10000;
+
+    /*
+     * Cursors listed on a page, kept well under the response header limits of common servers and clients.
+     */
+    static final int MAX_LISTED_CURSORS = 100;
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeChangeLog changeLog;
+
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final MockEmployeeDataset dataset;
+
+    /*
+     * A consistent version of the list, which carries the change version it reflects.
+     */
+    public MockEmployeeSnapshot getMockEmployees() {
+        dataset.requireLoaded();
+        return mockEmployeeStore.snapshot();
+    }
+
+    /*
+     * The first limit employees, with the cursors for the pages after it.
+     */
+    public MockEmployeePage getFirstPage(int limit) {
+        dataset.requireLoaded();
+        final var snapshot = mockEmployeeStore.snapshot();
+        final var cursors = listCursors(snapshot, limit, limit);
+        return new MockEmployeePage(
+                snapshot.slice(0, limit), snapshot.getVersion(), cursors.isEmpty() ? null : cursors.get(0), cursors);
+    }
+
+    /*
+     * The page the cursor points to, read from the latest snapshot, or empty if the list has been compacted since
+     * the cursor was handed out.
+     */
+    public Optional<MockEmployeePage> getPage(@NonNull EmployeeCursor cursor) {
+        dataset.requireLoaded();
+        final var snapshot = mockEmployeeStore.snapshot();
+        if (cursor.layout() != snapshot.getLayout()) {
+            return Optional.empty();
+        }
+        final var next = cursor.to() < snapshot.slots()
+                ? new EmployeeCursor(snapshot.getLayout(), cursor.to(), cursor.to() + cursor.size(), false)
+                : null;
+        final List<EmployeeCursor> cursors =
+                cursor.listsMore() ? listCursors(snapshot, cursor.to(), cursor.size()) : List.of();
+        return Optional.of(
+                new MockEmployeePage(snapshot.slice(cursor.from(), cursor.to()), snapshot.getVersion(), next, cursors));
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        dataset.requireLoaded();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        dataset.requireLoaded();
         final var mockEmployee = MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        dataset.requireLoaded();
+        final var mockEmployee = mockEmployeeStore.removeByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    public EmployeeChanges changesSince(@NonNull String version) {
+        dataset.requireLoaded();
+        return changeLog.since(version);
+    }
+
+    private static List<EmployeeCursor> listCursors(MockEmployeeSnapshot snapshot, int from, int size) {
+        final var cursors = new ArrayList<EmployeeCursor>();
+        for (int start = from; start < snapshot.slots() && cursors.size() < MAX_LISTED_CURSORS; start += size) {
+            final var listsMore = cursors.size() == MAX_LISTED_CURSORS - 1 && start + size < snapshot.slots();
+            cursors.add(new EmployeeCursor(snapshot.getLayout(), start, start + size, listsMore));
+        }
+        return cursors;
+    }
 }
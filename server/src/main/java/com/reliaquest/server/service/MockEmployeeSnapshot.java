@@ -0,0 +1,142 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import lombok.Getter;
+import lombok.NonNull;
+
+/*
+ * One immutable version of the employee list, in the order employees were added. Employees sit in numbered slots
+ * spread over fixed-size segments; a write copies only the segment it touches and the array of segment references,
+ * and shares every other segment with the previous version. A removed employee leaves an empty slot behind until the
+ * store compacts the list. Readers iterate whichever version they picked up without locking, however many writes
+ * are published meanwhile.
+ *
+ * An employee keeps its slot until the next compaction, which starts a new layout; a range of slots read from a later
+ * version of the same layout holds the same employees, less the removed ones and plus any added at the end.
+ */
+public final class MockEmployeeSnapshot extends AbstractCollection<MockEmployee> {
+
+    static final int SEGMENT_SIZE = 1024;
+
+    private final MockEmployee[][] segments;
+    private final int slots;
+    private final int size;
+
+    @Getter
+    private final String version;
+
+    @Getter
+    private final long layout;
+
+    private MockEmployeeSnapshot(MockEmployee[][] segments, int slots, int size, String version, long layout) {
+        this.segments = segments;
+        this.slots = slots;
+        this.size = size;
+        this.version = version;
+        this.layout = layout;
+    }
+
+    /*
+     * Packs the employees into consecutive slots, starting at 0, as a new layout.
+     */
+    static MockEmployeeSnapshot of(@NonNull Collection<MockEmployee> employees, @NonNull String version, long layout) {
+        int count = employees.size();
+        MockEmployee[][] segments = new MockEmployee[(count + SEGMENT_SIZE - 1) / SEGMENT_SIZE][];
+        int slot = 0;
+        for (MockEmployee employee : employees) {
+            int segment = slot / SEGMENT_SIZE;
+            if (segments[segment] == null) {
+                segments[segment] = new MockEmployee[Math.min(SEGMENT_SIZE, count - segment * SEGMENT_SIZE)];
+            }
+            segments[segment][slot % SEGMENT_SIZE] = employee;
+            slot++;
+        }
+        return new MockEmployeeSnapshot(segments, count, count, version, layout);
+    }
+
+    /*
+     * The employee goes into slot slots().
+     */
+    MockEmployeeSnapshot withAdded(@NonNull MockEmployee employee, @NonNull String version) {
+        int segment = slots / SEGMENT_SIZE;
+        MockEmployee[][] updated = Arrays.copyOf(segments, Math.max(segments.length, segment + 1));
+        MockEmployee[] target = segment < segments.length ? segments[segment] : new MockEmployee[0];
+        target = Arrays.copyOf(target, slots % SEGMENT_SIZE + 1);
+        target[slots % SEGMENT_SIZE] = employee;
+        updated[segment] = target;
+        return new MockEmployeeSnapshot(updated, slots + 1, size + 1, version, layout);
+    }
+
+    MockEmployeeSnapshot withRemoved(int slot, @NonNull String version) {
+        int segment = slot / SEGMENT_SIZE;
+        MockEmployee[][] updated = Arrays.copyOf(segments, segments.length);
+        updated[segment] = segments[segment].clone();
+        updated[segment][slot % SEGMENT_SIZE] = null;
+        return new MockEmployeeSnapshot(updated, slots, size - 1, version, layout);
+    }
+
+    /*
+     * The employees in slots from (inclusive) to to (exclusive), in order; slots past slots() are ignored.
+     */
+    public List<MockEmployee> slice(int from, int to) {
+        int end = Math.min(to, slots);
+        List<MockEmployee> employees = new ArrayList<>(Math.max(0, end - from));
+        for (int slot = Math.max(0, from); slot < end; slot++) {
+            MockEmployee employee = segments[slot / SEGMENT_SIZE][slot % SEGMENT_SIZE];
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /*
+     * Slots used so far, including the ones left empty by removals.
+     */
+    public int slots() {
+        return slots;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return new Iterator<>() {
+
+            private int slot = advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < slots;
+            }
+
+            @Override
+            public MockEmployee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MockEmployee employee = segments[slot / SEGMENT_SIZE][slot % SEGMENT_SIZE];
+                slot = advance(slot + 1);
+                return employee;
+            }
+
+            private int advance(int from) {
+                int next = from;
+                while (next < slots && segments[next / SEGMENT_SIZE][next % SEGMENT_SIZE] == null) {
+                    next++;
+                }
+                return next;
+            }
+        };
+    }
+}
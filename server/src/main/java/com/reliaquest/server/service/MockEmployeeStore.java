@@ -0,0 +1,155 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+
+/*
+ * Employees by id, with a secondary index from lower-cased name to the ids carrying that name in the order they were
+ * added. Lookups by id read the concurrent map without locking; writes take a lock so the indexes, the change log and
+ * the published snapshot move together, and a change is logged in the same order it was applied.
+ *
+ * The full list is read from an immutable MockEmployeeSnapshot, replaced on every write, which carries the change log
+ * version it reflects. Readers never lock and never see a write half applied. Once removals have left more empty
+ * slots than employees, the next removal compacts the list, so the cost of compaction is spread over those removals.
+ */
+public class MockEmployeeStore {
+
+    private final EmployeeChangeLog changeLog;
+
+    private final Map<UUID, MockEmployee> byId;
+    private final Map<String, List<UUID>> idsByName;
+    private final Map<UUID, Integer> slotsById;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile MockEmployeeSnapshot snapshot;
+
+    public MockEmployeeStore(@NonNull EmployeeChangeLog changeLog, int expectedSize) {
+        this.changeLog = changeLog;
+        this.byId = new ConcurrentHashMap<>(expectedSize);
+        this.idsByName = new HashMap<>(expectedSize);
+        this.slotsById = new HashMap<>(expectedSize);
+        this.snapshot = MockEmployeeSnapshot.of(List.of(), changeLog.version(), newLayout());
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /*
+     * The latest published version of the list; writes made after this call do not change it.
+     */
+    public MockEmployeeSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /*
+     * Adds employees without logging a change, for the initial dataset.
+     */
+    public void load(@NonNull Collection<MockEmployee> employees) {
+        writeLock.lock();
+        try {
+            employees.forEach(this::put);
+            MockEmployeeSnapshot current = snapshot;
+            if (current.isEmpty()) {
+                publishCompacted(employees, changeLog.version());
+            } else {
+                List<MockEmployee> all = new ArrayList<>(current.size() + employees.size());
+                all.addAll(current);
+                all.addAll(employees);
+                publishCompacted(all, changeLog.version());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void add(@NonNull MockEmployee employee) {
+        writeLock.lock();
+        try {
+            put(employee);
+            String version = changeLog.record(EmployeeChange.created(employee));
+            MockEmployeeSnapshot current = snapshot;
+            slotsById.put(employee.getId(), current.slots());
+            snapshot = current.withAdded(employee, version);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * Removes the earliest added employee with this name, ignoring case.
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        writeLock.lock();
+        try {
+            String key = key(name);
+            List<UUID> ids = idsByName.get(key);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            MockEmployee employee = byId.remove(ids.remove(0));
+            if (ids.isEmpty()) {
+                idsByName.remove(key);
+            }
+            String version = changeLog.record(EmployeeChange.deleted(employee));
+            MockEmployeeSnapshot updated = snapshot.withRemoved(slotsById.remove(employee.getId()), version);
+            if (updated.slots() - updated.size() > Math.max(MockEmployeeSnapshot.SEGMENT_SIZE, updated.size())) {
+                publishCompacted(updated, updated.getVersion());
+            } else {
+                snapshot = updated;
+            }
+            return Optional.of(employee);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void put(MockEmployee employee) {
+        if (employee.getId() == null) {
+            throw new IllegalArgumentException("Employee has no id: " + employee);
+        }
+        if (byId.putIfAbsent(employee.getId(), employee) != null) {
+            throw new IllegalArgumentException("Duplicate employee id: " + employee.getId());
+        }
+        if (employee.getName() != null) {
+            idsByName
+                    .computeIfAbsent(key(employee.getName()), ignored -> new ArrayList<>(1))
+                    .add(employee.getId());
+        }
+    }
+
+    /*
+     * Publishes the employees in consecutive slots, in the order given.
+     */
+    private void publishCompacted(Collection<MockEmployee> employees, String version) {
+        MockEmployeeSnapshot compacted = MockEmployeeSnapshot.of(employees, version, newLayout());
+        int slot = 0;
+        for (MockEmployee employee : compacted) {
+            slotsById.put(employee.getId(), slot++);
+        }
+        snapshot = compacted;
+    }
+
+    private static long newLayout() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
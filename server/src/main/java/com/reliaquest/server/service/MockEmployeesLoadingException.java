@@ -0,0 +1,13 @@
+package com.reliaquest.server.service;
+
+/*
+ * The mock employees are still being generated in the background.
+ */
+public class MockEmployeesLoadingException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public MockEmployeesLoadingException() {
+        super("Mock employees are still being generated.");
+    }
+}
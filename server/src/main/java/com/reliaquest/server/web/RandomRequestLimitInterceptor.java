@@ -1,5 +1,6 @@
 package com.reliaquest.server.web;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
@@ -7,11 +8,14 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
+    private static final String COUNTED_ATTRIBUTE = RandomRequestLimitInterceptor.class.getName() + ".COUNTED";
+
     private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
     private static final Duration REQUEST_BACKOFF_DURATION =
             Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
@@ -20,11 +24,18 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        /*
+         * A streamed response is finished in a second, async dispatch of a request that was already counted.
+         */
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
         if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds()));
                 return false;
             }
             if (Instant.now()
@@ -35,11 +46,38 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
         } else {
             requestLimit.getAndUpdate(
                     currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
+            request.setAttribute(COUNTED_ATTRIBUTE, Boolean.TRUE);
         }
 
         return true;
     }
 
+    /*
+     * A 503 while the employees are still being generated asks the client to poll again shortly; such polls do not
+     * count towards the limit, or a client waiting for startup would be locked out before its first real request.
+     */
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (response.getStatus() != HttpStatus.SERVICE_UNAVAILABLE.value()
+                || request.getAttribute(COUNTED_ATTRIBUTE) == null) {
+            return;
+        }
+        request.removeAttribute(COUNTED_ATTRIBUTE);
+        requestLimit.getAndUpdate(currentRequestLimit -> currentRequestLimit.count() > 0
+                ? new RequestLimit(currentRequestLimit.count() - 1, currentRequestLimit.lastRequested())
+                : currentRequestLimit);
+    }
+
+    /*
+     * Whole seconds until the lockout ends, rounded up so a client that waits this long is let through.
+     */
+    private long retryAfterSeconds() {
+        Duration remaining = Duration.between(
+                Instant.now(), requestLimit.get().getLastRequested().plus(REQUEST_BACKOFF_DURATION));
+        return Math.max(1, (remaining.toMillis() + 999) / 1000);
+    }
+
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
         public static RequestLimit init() {
             return new RequestLimit(0, Instant.now());
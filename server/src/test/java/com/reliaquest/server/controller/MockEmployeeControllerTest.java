@@ -0,0 +1,303 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.EmployeeCursor;
+import com.reliaquest.server.service.MockEmployeeDataset;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private static final String PATH = "/api/v1/employee";
+    private static final int EMPLOYEES = 25;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockEmployeeStore store;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final var changeLog = new EmployeeChangeLog(2);
+        store = new MockEmployeeStore(changeLog, EMPLOYEES);
+        store.load(new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(EMPLOYEES));
+        final var service =
+                new MockEmployeeService(new Faker(Locale.ROOT), changeLog, store, mock(MockEmployeeDataset.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(service, objectMapper))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @DisplayName("changes since the version of a full list are listed in order")
+    @Test
+    void changes() throws Exception {
+        final var version = mockMvc.perform(get(PATH))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(MockEmployeeController.VERSION_HEADER);
+        final var name = store.snapshot().iterator().next().getName();
+        mockMvc.perform(post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ada Lovelace\",\"salary\":100000,\"age\":36,\"title\":\"Analyst\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(PATH).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(PATH + "/changes").param("since", version))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset").value(false))
+                .andExpect(jsonPath("$.data.version").value(store.snapshot().getVersion()))
+                .andExpect(jsonPath("$.data.changes.length()").value(2))
+                .andExpect(jsonPath("$.data.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.data.changes[0].employee.employee_name").value("Ada Lovelace"))
+                .andExpect(jsonPath("$.data.changes[1].type").value("DELETED"))
+                .andExpect(jsonPath("$.data.changes[1].employee.employee_name").value(name));
+    }
+
+    @DisplayName("a version the change log no longer reaches is answered with a reset")
+    @Test
+    void changesReset() throws Exception {
+        final var version = store.snapshot().getVersion();
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Ada " + i + "\",\"salary\":100000,\"age\":36,\"title\":\"Analyst\"}"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get(PATH + "/changes").param("since", version))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset").value(true))
+                .andExpect(jsonPath("$.data.version").value(store.snapshot().getVersion()))
+                .andExpect(jsonPath("$.data.changes.length()").value(0));
+        mockMvc.perform(get(PATH + "/changes").param("since", "from-another-run-7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset").value(true));
+    }
+
+    @DisplayName("the first page lists the cursors of the pages after it; the last page has neither")
+    @Test
+    void paging() throws Exception {
+        final var first = mockMvc.perform(get(PATH).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(
+                                MockEmployeeController.VERSION_HEADER,
+                                store.snapshot().getVersion()))
+                .andReturn();
+        final var layout = store.snapshot().getLayout();
+
+        assertEquals(
+                new EmployeeCursor(layout, 10, 20, false),
+                EmployeeCursor.parse(first.getResponse().getHeader(MockEmployeeController.NEXT_CURSOR_HEADER)));
+        assertEquals(
+                List.of(new EmployeeCursor(layout, 10, 20, false), new EmployeeCursor(layout, 20, 30, false)),
+                cursors(first));
+
+        final var last = mockMvc.perform(
+                        get(PATH).param("cursor", cursors(first).get(1).encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(MockEmployeeController.NEXT_CURSOR_HEADER))
+                .andExpect(header().doesNotExist(MockEmployeeController.PAGE_CURSORS_HEADER))
+                .andReturn();
+        final var middle = mockMvc.perform(
+                        get(PATH).param("cursor", cursors(first).get(0).encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(MockEmployeeController.PAGE_CURSORS_HEADER))
+                .andReturn();
+
+        final var all = new ArrayList<String>(ids(first));
+        all.addAll(ids(middle));
+        all.addAll(ids(last));
+        assertEquals(5, ids(last).size());
+        assertEquals(
+                store.snapshot().stream()
+                        .map(employee -> employee.getId().toString())
+                        .toList(),
+                all);
+    }
+
+    @DisplayName("the cursor ending a full batch lists the next batch, whose cursors list no more")
+    @Test
+    void listsMore() throws Exception {
+        store.load(employees("Extra", 150));
+
+        final var cursors = cursors(mockMvc.perform(get(PATH).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(100, cursors.size());
+        assertEquals(List.of(99), indexesListingMore(cursors));
+
+        final var batchEnd = cursors.get(99);
+        final var next = cursors(mockMvc.perform(get(PATH).param("cursor", batchEnd.encode()))
+                .andExpect(status().isOk())
+                .andReturn());
+        assertEquals(EMPLOYEES + 150 - batchEnd.to(), next.size());
+        assertEquals(batchEnd.to(), next.get(0).from());
+        assertEquals(List.of(), indexesListingMore(next));
+    }
+
+    @DisplayName("a cursor cut before a compaction is answered with 410, a malformed one with 400")
+    @Test
+    void expiredCursor() throws Exception {
+        store.load(employees("Filler", 1100));
+        final var cursor = mockMvc.perform(get(PATH).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(MockEmployeeController.NEXT_CURSOR_HEADER);
+        final var layout = store.snapshot().getLayout();
+        for (int i = 0; store.snapshot().getLayout() == layout; i++) {
+            assertTrue(store.removeByName("Filler " + i).isPresent());
+        }
+
+        mockMvc.perform(get(PATH).param("cursor", cursor))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.error").value("Cursor has expired, start again from the first page."));
+        mockMvc.perform(get(PATH).param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("deletes and creates while paging neither repeat nor skip the employees that stay")
+    @Test
+    void writesWhilePaging() throws Exception {
+        final var initial = new ArrayList<>(store.snapshot());
+        final var first = mockMvc.perform(get(PATH).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn();
+        final var fetchedThenDeleted = initial.get(3);
+        final var deletedBeforeFetch = initial.get(15);
+        for (final var employee : List.of(fetchedThenDeleted, deletedBeforeFetch)) {
+            mockMvc.perform(delete(PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"" + employee.getName() + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data").value(true));
+        }
+        final var created = ids(mockMvc.perform(
+                                post(PATH)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(
+                                                "{\"name\":\"Ada Lovelace\",\"salary\":100000,\"age\":36,\"title\":\"Analyst\"}"))
+                        .andExpect(status().isOk())
+                        .andReturn())
+                .get(0);
+
+        final var all = new ArrayList<String>(ids(first));
+        for (final var cursor : cursors(first)) {
+            all.addAll(ids(mockMvc.perform(get(PATH).param("cursor", cursor.encode()))
+                    .andExpect(status().isOk())
+                    .andReturn()));
+        }
+
+        final var expected = new ArrayList<String>();
+        initial.stream()
+                .filter(employee -> employee != deletedBeforeFetch)
+                .forEach(employee -> expected.add(employee.getId().toString()));
+        expected.add(created);
+        assertEquals(expected, all);
+    }
+
+    @DisplayName("the full list streams as NDJSON, one employee per line, as many lines as announced")
+    @Test
+    void stream() throws Exception {
+        final var expected = store.snapshot().stream()
+                .map(employee -> employee.getId().toString())
+                .toList();
+        final var started = mockMvc.perform(get(PATH).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        store.removeByName(store.snapshot().iterator().next().getName());
+
+        final var response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(MockEmployeeController.COUNT_HEADER, String.valueOf(EMPLOYEES)))
+                .andReturn()
+                .getResponse();
+
+        final var ids = new ArrayList<String>();
+        try (final var reader = new BufferedReader(new StringReader(response.getContentAsString()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final var employee = objectMapper.readTree(line);
+                assertTrue(employee.isObject(), "one employee per line: " + line);
+                ids.add(employee.get("id").asText());
+            }
+        }
+        assertEquals(expected, ids, "the list as it was when the request came in");
+        assertTrue(response.getContentAsString().endsWith("}\n"));
+    }
+
+    @DisplayName("a streamed list is not paged")
+    @Test
+    void streamPaged() throws Exception {
+        mockMvc.perform(get(PATH).param("limit", "10").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<String> ids(MvcResult result) throws Exception {
+        final var data =
+                objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+        final var ids = new ArrayList<String>();
+        if (data.isArray()) {
+            data.forEach(employee -> ids.add(employee.get("id").asText()));
+        } else {
+            ids.add(data.get("id").asText());
+        }
+        return ids;
+    }
+
+    private static List<EmployeeCursor> cursors(MvcResult result) {
+        final var header = result.getResponse().getHeader(MockEmployeeController.PAGE_CURSORS_HEADER);
+        return header == null
+                ? List.of()
+                : Arrays.stream(header.split(",")).map(EmployeeCursor::parse).toList();
+    }
+
+    private static List<Integer> indexesListingMore(List<EmployeeCursor> cursors) {
+        final var indexes = new ArrayList<Integer>();
+        for (int i = 0; i < cursors.size(); i++) {
+            if (cursors.get(i).listsMore()) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    private static List<MockEmployee> employees(String prefix, int count) {
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name(prefix + " " + i)
+                    .build());
+        }
+        return employees;
+    }
+}
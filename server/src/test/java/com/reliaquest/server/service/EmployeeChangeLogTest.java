@@ -0,0 +1,97 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeChangeLogTest {
+
+    private EmployeeChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new EmployeeChangeLog(3);
+    }
+
+    @DisplayName("versions are numbered within one epoch, starting at 0")
+    @Test
+    void versions() {
+        final var initial = changeLog.version();
+        final var epoch = initial.substring(0, initial.lastIndexOf('-'));
+
+        assertEquals(epoch + "-0", initial);
+        assertEquals(epoch + "-1", changeLog.record(EmployeeChange.created(employee("Ada"))));
+        assertEquals(epoch + "-2", changeLog.record(EmployeeChange.deleted(employee("Ada"))));
+        assertEquals(epoch + "-2", changeLog.version());
+        assertNotEquals(initial, new EmployeeChangeLog(3).version(), "a new log starts a new epoch");
+    }
+
+    @DisplayName("changes since a version are returned in the order they were recorded")
+    @Test
+    void since() {
+        final var from = changeLog.version();
+        final var created = EmployeeChange.created(employee("Ada"));
+        final var deleted = EmployeeChange.deleted(employee("Bob"));
+        changeLog.record(created);
+        final var version = changeLog.record(deleted);
+
+        final var changes = changeLog.since(from);
+
+        assertFalse(changes.reset());
+        assertEquals(version, changes.version());
+        assertEquals(List.of(created, deleted), changes.changes());
+        assertEquals(List.of(), changeLog.since(version).changes());
+    }
+
+    @DisplayName("only the most recent mock.changes.max changes are kept; older versions get a reset")
+    @Test
+    void bounded() {
+        final var initial = changeLog.version();
+        final var first = changeLog.record(EmployeeChange.created(employee("Ada")));
+        for (final var name : List.of("Bob", "Cy", "Dee")) {
+            changeLog.record(EmployeeChange.created(employee(name)));
+        }
+
+        final var tooOld = changeLog.since(initial);
+        assertTrue(tooOld.reset());
+        assertEquals(changeLog.version(), tooOld.version());
+        assertEquals(List.of(), tooOld.changes());
+
+        final var oldest = changeLog.since(first);
+        assertFalse(oldest.reset());
+        assertEquals(
+                List.of("Bob", "Cy", "Dee"),
+                oldest.changes().stream()
+                        .map(change -> change.employee().getName())
+                        .toList());
+    }
+
+    @DisplayName("versions from another epoch, from the future or not versions at all get a reset")
+    @Test
+    void reset() {
+        final var version = changeLog.record(EmployeeChange.created(employee("Ada")));
+        final var epoch = version.substring(0, version.lastIndexOf('-'));
+
+        assertTrue(changeLog.since(new EmployeeChangeLog(3).version()).reset());
+        assertTrue(changeLog.since(epoch + "-2").reset());
+        assertTrue(changeLog.since(epoch + "-x").reset());
+        assertTrue(changeLog.since("1").reset());
+        assertFalse(changeLog.since(epoch + "-0").reset());
+    }
+
+    @DisplayName("mock.changes.max must keep at least one change")
+    @Test
+    void invalidMax() {
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeChangeLog(0));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCursorTest {
+
+    @DisplayName("a cursor decodes to the cursor it was encoded from")
+    @Test
+    void roundTrip() {
+        for (final var cursor : new EmployeeCursor[] {
+            new EmployeeCursor(0x5EEDL, 0, 10, false),
+            new EmployeeCursor(-1L, 990, 1000, true),
+            new EmployeeCursor(Long.MIN_VALUE, 1023, 1025, false)
+        }) {
+            final var token = cursor.encode();
+
+            assertEquals(cursor, EmployeeCursor.parse(token));
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), "URL safe and unpadded: " + token);
+        }
+    }
+
+    @DisplayName("tokens that do not decode to a cursor are rejected")
+    @Test
+    void malformed() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeCursor.parse("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeCursor.parse(token("5eed:0:10")));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeCursor.parse(token("5eed:x:10:0")));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeCursor.parse(token("5eed:10:10:0")));
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeCursor(1, -1, 10, false));
+    }
+
+    private static String token(String plain) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.HashSet;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    private static final int COUNT = 2 * MockEmployeeGenerator.SHARD_SIZE + 10;
+
+    @DisplayName("the same seed gives the same employees in the same order, however many threads generate them")
+    @Test
+    void sameSeed() {
+        final var sequential = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(COUNT);
+        final var parallel = new MockEmployeeGenerator(42, Locale.ROOT, 3).generate(COUNT);
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, parallel);
+        assertEquals(
+                COUNT,
+                new HashSet<>(sequential.stream().map(MockEmployee::getId).toList()).size());
+        assertTrue(sequential.stream()
+                .allMatch(employee -> employee.getName() != null
+                        && employee.getSalary() != null
+                        && employee.getAge() != null
+                        && employee.getTitle() != null
+                        && employee.getEmail() != null));
+    }
+
+    @DisplayName("another seed gives other employees")
+    @Test
+    void otherSeed() {
+        final var first = new MockEmployeeGenerator(42, Locale.ROOT, 1).generate(COUNT);
+        final var second = new MockEmployeeGenerator(43, Locale.ROOT, 1).generate(COUNT);
+
+        assertNotEquals(first, second);
+        final var ids = new HashSet<>(first.stream().map(MockEmployee::getId).toList());
+        assertTrue(second.stream().map(MockEmployee::getId).noneMatch(ids::contains));
+    }
+
+    @DisplayName("parallelism must be at least 1")
+    @Test
+    void invalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new MockEmployeeGenerator(42, Locale.ROOT, 0));
+    }
+}
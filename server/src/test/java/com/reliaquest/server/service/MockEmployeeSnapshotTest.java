@@ -0,0 +1,96 @@
+package com.reliaquest.server.service;
+
+import static com.reliaquest.server.service.MockEmployeeSnapshot.SEGMENT_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeSnapshotTest {
+
+    @DisplayName("employees are packed into consecutive slots and iterated in order")
+    @Test
+    void of() {
+        final var employees = employees(SEGMENT_SIZE + 5);
+
+        final var snapshot = MockEmployeeSnapshot.of(employees, "v0", 1);
+
+        assertEquals(employees, new ArrayList<>(snapshot));
+        assertEquals(SEGMENT_SIZE + 5, snapshot.size());
+        assertEquals(SEGMENT_SIZE + 5, snapshot.slots());
+        assertEquals(
+                employees.subList(SEGMENT_SIZE - 2, SEGMENT_SIZE + 2),
+                snapshot.slice(SEGMENT_SIZE - 2, SEGMENT_SIZE + 2));
+        assertEquals(
+                employees.subList(SEGMENT_SIZE, SEGMENT_SIZE + 5), snapshot.slice(SEGMENT_SIZE, 10 * SEGMENT_SIZE));
+    }
+
+    @DisplayName("a removal leaves an empty slot that iteration and slices skip")
+    @Test
+    void withRemoved() {
+        final var employees = employees(4);
+        final var snapshot = MockEmployeeSnapshot.of(employees, "v0", 1).withRemoved(1, "v1");
+
+        assertEquals(List.of(employees.get(0), employees.get(2), employees.get(3)), new ArrayList<>(snapshot));
+        assertEquals(List.of(employees.get(0), employees.get(2)), snapshot.slice(0, 3));
+        assertEquals(3, snapshot.size());
+        assertEquals(4, snapshot.slots());
+        assertEquals("v1", snapshot.getVersion());
+        assertEquals(1, snapshot.getLayout());
+    }
+
+    @DisplayName("earlier versions are unchanged by later writes, across the segment boundary")
+    @Test
+    void immutable() {
+        final var employees = employees(SEGMENT_SIZE - 1);
+        final var versions = new ArrayList<MockEmployeeSnapshot>();
+        final var expected = new ArrayList<List<MockEmployee>>();
+        var snapshot = MockEmployeeSnapshot.of(employees, "v0", 1);
+        final var current = new ArrayList<MockEmployee>(employees);
+        versions.add(snapshot);
+        expected.add(List.copyOf(current));
+
+        for (int i = 0; i < 3; i++) {
+            final var added = employee("Added " + i);
+            snapshot = snapshot.withAdded(added, "a" + i);
+            current.add(added);
+            versions.add(snapshot);
+            expected.add(List.copyOf(current));
+        }
+        for (int slot : new int[] {SEGMENT_SIZE - 1, SEGMENT_SIZE, 0, SEGMENT_SIZE + 1}) {
+            current.remove(snapshot.slice(slot, slot + 1).get(0));
+            snapshot = snapshot.withRemoved(slot, "r" + slot);
+            versions.add(snapshot);
+            expected.add(List.copyOf(current));
+        }
+
+        for (int version = 0; version < versions.size(); version++) {
+            assertEquals(expected.get(version), new ArrayList<>(versions.get(version)), "version " + version);
+            assertEquals(expected.get(version).size(), versions.get(version).size(), "version " + version);
+        }
+        assertEquals(SEGMENT_SIZE - 1, versions.get(0).slots());
+        assertEquals(SEGMENT_SIZE + 2, snapshot.slots());
+        assertEquals(SEGMENT_SIZE - 2, snapshot.size());
+        assertEquals(
+                List.of(employees.get(SEGMENT_SIZE - 2)), versions.get(2).slice(SEGMENT_SIZE - 2, SEGMENT_SIZE - 1));
+        assertEquals(
+                expected.get(3).subList(SEGMENT_SIZE - 2, SEGMENT_SIZE + 2),
+                versions.get(3).slice(SEGMENT_SIZE - 2, SEGMENT_SIZE + 2));
+    }
+
+    private static List<MockEmployee> employees(int count) {
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
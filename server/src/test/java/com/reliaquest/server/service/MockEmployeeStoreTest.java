@@ -0,0 +1,160 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private EmployeeChangeLog changeLog;
+    private MockEmployeeStore store;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = new EmployeeChangeLog(100000);
+        store = new MockEmployeeStore(changeLog, 16);
+    }
+
+    @DisplayName("a name removes the earliest added employee carrying it, ignoring case")
+    @Test
+    void removeByName() {
+        final var first = employee("Ada Lovelace");
+        final var second = employee("ada lovelace");
+        store.add(first);
+        store.add(second);
+
+        assertEquals(first, store.removeByName("ADA LOVELACE").orElseThrow());
+        assertEquals(second, store.removeByName("Ada Lovelace").orElseThrow());
+        assertTrue(store.removeByName("Ada Lovelace").isEmpty());
+        assertTrue(store.findById(first.getId()).isEmpty());
+        assertEquals(0, store.size());
+    }
+
+    @DisplayName("concurrent adds and removes all apply, each logged once, while readers see whole snapshots")
+    @Test
+    void concurrentWrites() throws Exception {
+        final int writers = 4;
+        final int perWriter = 500;
+        final var start = new CountDownLatch(1);
+        final var done = new AtomicBoolean();
+        final ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            final var reader = executor.submit(() -> {
+                start.await();
+                while (!done.get()) {
+                    final var snapshot = store.snapshot();
+                    int seen = 0;
+                    for (MockEmployee employee : snapshot) {
+                        assertNotNull(employee);
+                        seen++;
+                    }
+                    assertEquals(snapshot.size(), seen);
+                }
+                return null;
+            });
+            final List<Future<List<MockEmployee>>> results = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                final int prefix = writer;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    final var kept = new ArrayList<MockEmployee>();
+                    for (int i = 0; i < perWriter; i++) {
+                        final var employee = employee("Writer " + prefix + " employee " + i);
+                        store.add(employee);
+                        if (i % 2 == 0) {
+                            assertEquals(
+                                    employee,
+                                    store.removeByName(employee.getName()).orElseThrow());
+                        } else {
+                            kept.add(employee);
+                        }
+                    }
+                    return kept;
+                }));
+            }
+            start.countDown();
+            final Set<MockEmployee> kept = new HashSet<>();
+            for (Future<List<MockEmployee>> result : results) {
+                kept.addAll(result.get(30, TimeUnit.SECONDS));
+            }
+            done.set(true);
+            reader.get(30, TimeUnit.SECONDS);
+
+            assertEquals(writers * perWriter / 2, store.size());
+            assertEquals(kept, new HashSet<>(store.snapshot()));
+            kept.forEach(employee ->
+                    assertEquals(employee, store.findById(employee.getId()).orElseThrow()));
+            final var version = store.snapshot().getVersion();
+            assertEquals(changeLog.version(), version);
+            assertEquals(writers * perWriter * 3 / 2, Long.parseLong(version.substring(version.lastIndexOf('-') + 1)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("compaction keeps lookups by id and by name pointing at the same employees")
+    @Test
+    void compaction() {
+        final int count = 3 * MockEmployeeSnapshot.SEGMENT_SIZE;
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        store.load(employees);
+        final long layout = store.snapshot().getLayout();
+
+        int removed = 0;
+        while (store.snapshot().getLayout() == layout) {
+            assertEquals(
+                    employees.get(removed),
+                    store.removeByName("employee " + removed).orElseThrow());
+            removed++;
+        }
+        assertEquals(count / 2 + 1, removed);
+        assertEquals(count - removed, store.snapshot().slots(), "compaction leaves no empty slots");
+
+        final var remaining = employees.subList(removed, count);
+        assertEquals(remaining, new ArrayList<>(store.snapshot()));
+        remaining.forEach(employee ->
+                assertEquals(employee, store.findById(employee.getId()).orElseThrow()));
+        employees
+                .subList(0, removed)
+                .forEach(employee -> assertTrue(store.findById(employee.getId()).isEmpty()));
+
+        for (int i = count - 1; i >= removed; i -= 7) {
+            final var employee = employees.get(i);
+            assertEquals(employee, store.removeByName(employee.getName()).orElseThrow());
+            assertFalse(store.snapshot().contains(employee), "removed from the slot it was compacted into");
+        }
+        final var added = employee("Employee " + removed);
+        store.add(added);
+        assertEquals(
+                employees.get(removed),
+                store.removeByName("Employee " + removed).orElseThrow());
+        assertEquals(added, store.removeByName("Employee " + removed).orElseThrow());
+        assertEquals(new HashSet<>(store.snapshot()).size(), store.size());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RandomRequestLimitInterceptorTest {
+
+    private final RandomRequestLimitInterceptor interceptor = new RandomRequestLimitInterceptor();
+
+    @DisplayName("requests are limited to a handful before the client is locked out with a Retry-After")
+    @Test
+    void limit() {
+        final var rejected = firstRejected();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+    }
+
+    @DisplayName("503 answers while the employees are being generated do not count towards the limit")
+    @Test
+    void loadingNotCounted() {
+        for (int i = 0; i < 20; i++) {
+            final var request = new MockHttpServletRequest();
+            final var response = new MockHttpServletResponse();
+            assertTrue(interceptor.preHandle(request, response, new Object()), "poll " + i);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            interceptor.afterCompletion(request, response, new Object(), null);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK.value(), handle(HttpStatus.OK).getStatus(), "request " + i);
+        }
+        firstRejected();
+    }
+
+    private MockHttpServletResponse firstRejected() {
+        for (int i = 0; i < 11; i++) {
+            final var response = handle(HttpStatus.OK);
+            if (response.getStatus() != HttpStatus.OK.value()) {
+                return response;
+            }
+        }
+        return fail("no request was rejected");
+    }
+
+    private MockHttpServletResponse handle(HttpStatus status) {
+        final var request = new MockHttpServletRequest();
+        final var response = new MockHttpServletResponse();
+        if (interceptor.preHandle(request, response, new Object())) {
+            response.setStatus(status.value());
+            interceptor.afterCompletion(request, response, new Object(), null);
+        }
+        return response;
+    }
+}